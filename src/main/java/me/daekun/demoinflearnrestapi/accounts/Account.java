@@ -2,6 +2,10 @@ package me.daekun.demoinflearnrestapi.accounts;
 
 import lombok.*;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
 import javax.persistence.*;
 import java.util.Set;
 
@@ -11,7 +15,9 @@ import java.util.Set;
 public class Account {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "account_seq")
+    @GenericGenerator(name = "account_seq", strategy = "me.daekun.demoinflearnrestapi.common.PooledSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "account_seq"))
     private Integer id;
 
     @Column(unique = true)
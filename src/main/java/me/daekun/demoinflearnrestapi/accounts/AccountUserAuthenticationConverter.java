@@ -0,0 +1,60 @@
+package me.daekun.demoinflearnrestapi.accounts;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.provider.token.DefaultUserAuthenticationConverter;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JWT 토큰의 claim <-> 사용자 인증 변환.
+ * 발급할 때 user_name / authorities 에 계정 id(account_id)를 더 담아 두고, 검증할 때는 DB 를 보지 않고 claim 만으로 AccountAdapter 를 다시 만든다.
+ * 그래서 @CurrentUser 로 받는 Account 에는 id / email / roles 만 있다 (비밀번호는 빈 문자열).
+ */
+public class AccountUserAuthenticationConverter extends DefaultUserAuthenticationConverter {
+
+    public static final String ACCOUNT_ID = "account_id";
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    @Override
+    public Map<String, ?> convertUserAuthentication(Authentication authentication) {
+        Map<String, Object> response = new LinkedHashMap<>(super.convertUserAuthentication(authentication));
+        if (authentication.getPrincipal() instanceof AccountAdapter) {
+            response.put(ACCOUNT_ID, ((AccountAdapter) authentication.getPrincipal()).getAccount().getId());
+        }
+        return response;
+    }
+
+    @Override
+    public Authentication extractAuthentication(Map<String, ?> map) {
+        if (!map.containsKey(USERNAME) || !(map.get(ACCOUNT_ID) instanceof Number)) {
+            return super.extractAuthentication(map);
+        }
+        Account account = Account.builder()
+                .id(((Number) map.get(ACCOUNT_ID)).intValue())
+                .email((String) map.get(USERNAME))
+                .password("")
+                .roles(roles(map.get(AUTHORITIES)))
+                .build();
+        AccountAdapter principal = new AccountAdapter(account);
+        return new UsernamePasswordAuthenticationToken(principal, "N/A", principal.getAuthorities());
+    }
+
+    private static Set<AccountRole> roles(Object authorities) {
+        Set<AccountRole> roles = EnumSet.noneOf(AccountRole.class);
+        if (authorities instanceof Collection) {
+            for (Object authority : (Collection<?>) authorities) {
+                String name = String.valueOf(authority);
+                if (name.startsWith(ROLE_PREFIX)) {
+                    roles.add(AccountRole.valueOf(name.substring(ROLE_PREFIX.length())));
+                }
+            }
+        }
+        return roles;
+    }
+}
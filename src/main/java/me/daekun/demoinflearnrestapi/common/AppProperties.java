@@ -6,6 +6,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import javax.validation.constraints.NotEmpty;
+import java.time.Duration;
 
 @Component
 @ConfigurationProperties(prefix = "my-app")
@@ -30,4 +31,81 @@ public class AppProperties {
     @NotEmpty
     private String clientSecret;
 
+    // 배치 / 임포트에서 한 트랜잭션으로 저장할 이벤트 수
+    private int eventBatchSize = 50;
+
+    // POST /api/events/batch 한 요청에 담을 수 있는 이벤트 수. 넘으면 나머지는 읽지 않고 400 을 돌려준다.
+    private int eventBatchMaxItems = 1000;
+
+    // 익스포트에서 커서로 한번에 가져올 행 수
+    private int exportFetchSize = 500;
+
+    // EventDto <-> Event 변환기. 문제가 생기면 model-mapper 로 되돌린다.
+    private EventMapperType eventMapper = EventMapperType.DIRECT;
+
+    // 요청 / 비동기 작업을 가상 스레드에서 실행한다 (Java 21 이상, configs.VirtualThreadConfig 참고)
+    private boolean virtualThreads = false;
+
+    // /api/events/stats 카운터를 DB 와 맞춰보는 주기 (events.EventStatsCounter 참고)
+    private Duration statsReconcileInterval = Duration.ofMinutes(10);
+
+    // 매진을 확인한 이벤트에 DB 를 거치지 않고 매진으로 응답하는 시간 (events.EnrollmentService 참고)
+    private Duration soldOutTtl = Duration.ofSeconds(1);
+
+    // PUBLISHED -> BEGAN_ENROLLMENT 자동 전이 (events.EventLifecycleScheduler 참고). tick 마다 시각이 지난 전이를 처리하고,
+    // 큐에는 horizon 안에 시작할 전이만 둔다.
+    private boolean eventLifecycleScheduler = true;
+    private Duration eventLifecycleTick = Duration.ofSeconds(1);
+    private Duration eventLifecycleHorizon = Duration.ofHours(1);
+
+    // GET /api/events/changes (events.EventChangeFeed 참고). 구독자가 링에 남은 변경보다 더 밀리면 resync 를 받는다.
+    // 한번의 전송이 send-timeout 을 넘기는 구독자는 끊고, 막힌 스레드 대신 전송 스레드를 max-senders 까지 더 둔다.
+    private int changeFeedCapacity = 1024;
+    private int changeFeedSenders = 2;
+    private int changeFeedMaxSenders = 8;
+    private Duration changeFeedHeartbeat = Duration.ofSeconds(15);
+    private Duration changeFeedTimeout = Duration.ofMinutes(30);
+    private Duration changeFeedSendTimeout = Duration.ofSeconds(5);
+
+    // POST /api/events 의 Idempotency-Key -> 응답 저장소 크기 / 보관 시간 (common.IdempotencyKeyStore 참고)
+    private long idempotencyKeyMaxSize = 10_000;
+    private Duration idempotencyKeyTtl = Duration.ofHours(24);
+    // 같은 key 로 처리 중인 요청의 응답을 기다리는 최대 시간. 넘기면 409 를 돌려준다.
+    private Duration idempotencyKeyWaitTimeout = Duration.ofSeconds(5);
+
+    // /api/** 요청 수 제한 (configs.RateLimitFilter 참고). 계정(로그인하지 않은 요청은 IP)과 OAuth 클라이언트마다, 읽기 / 쓰기를 따로 센다.
+    private boolean rateLimitEnabled = true;
+    private RateLimit accountReadLimit = new RateLimit(20, 40);
+    private RateLimit accountWriteLimit = new RateLimit(5, 20);
+    private RateLimit clientReadLimit = new RateLimit(200, 400);
+    private RateLimit clientWriteLimit = new RateLimit(50, 100);
+
+    // OAuth 토큰 저장 방식 (configs.SecurityConfig 참고). JWT 는 jwtSigningKey(32자 이상)로 서명하고 저장소를 보지 않고 검증한다.
+    private TokenStoreType tokenStore = TokenStoreType.IN_MEMORY;
+    private String jwtSigningKey;
+
+    public enum EventMapperType {
+        DIRECT, MODEL_MAPPER
+    }
+
+    public enum TokenStoreType {
+        IN_MEMORY, JWT
+    }
+
+    @Getter @Setter
+    public static class RateLimit {
+        // 초당 채워지는 요청 수
+        private double permitsPerSecond;
+        // 한번에 몰아서 보낼 수 있는 요청 수
+        private int burst;
+
+        public RateLimit() {
+        }
+
+        public RateLimit(double permitsPerSecond, int burst) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+    }
+
 }
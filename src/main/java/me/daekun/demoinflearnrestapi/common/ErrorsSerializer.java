@@ -11,6 +11,13 @@ import java.io.IOException;
 // Errors 는 자바 빈 스펙을 준수하지 않아서 따로 Json 객체로 변환해주는 Serializer가 필요
 @JsonComponent // ObjectMapper에 등록
 public class ErrorsSerializer extends JsonSerializer<Errors> {
+
+    // "errors" 필드 이름을 직접 쓰기 때문에 항상 @JsonUnwrapped 로 감싸진 객체 안에서만 쓰인다.
+    @Override
+    public boolean isUnwrappingSerializer() {
+        return true;
+    }
+
     @Override
     public void serialize(Errors errors, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
         jsonGenerator.writeFieldName("errors");
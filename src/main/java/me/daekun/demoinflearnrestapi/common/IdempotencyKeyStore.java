@@ -0,0 +1,113 @@
+package me.daekun.demoinflearnrestapi.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 헤더로 같은 요청을 한번만 처리하기 위한 key -> 응답 저장소.
+ * 크기(my-app.idempotency-key-max-size)와 TTL(my-app.idempotency-key-ttl)이 정해진 노드 로컬 Caffeine 캐시이고,
+ * 값은 처리 중인 요청의 CompletableFuture 라서 같은 key 가 동시에 들어오면 먼저 온 요청만 처리하고 나머지는 그 응답을 기다렸다가 받는다.
+ * 기다리는 동안 요청 스레드를 잡고 있으므로 my-app.idempotency-key-wait-timeout 까지만 기다리고, 넘기면 inProgress 의 응답을 돌려준다.
+ * 성공(2xx)한 응답만 남기고, 실패한 요청의 key 는 지워서 다시 시도할 수 있게 한다.
+ */
+@Component
+public class IdempotencyKeyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final ConcurrentMap<String, CompletableFuture<Stored>> responses;
+    private final long waitTimeoutNanos;
+
+    public IdempotencyKeyStore(AppProperties appProperties) {
+        this.waitTimeoutNanos = appProperties.getIdempotencyKeyWaitTimeout().toNanos();
+        Cache<String, CompletableFuture<Stored>> cache = Caffeine.newBuilder()
+                .maximumSize(appProperties.getIdempotencyKeyMaxSize())
+                .expireAfterWrite(appProperties.getIdempotencyKeyTtl())
+                .build();
+        this.responses = cache.asMap();
+    }
+
+    public static boolean isValidKey(String key) {
+        return !key.isBlank() && key.length() <= MAX_KEY_LENGTH;
+    }
+
+    /**
+     * key 로 처음 온 요청이면 action 을 실행해서 응답을 남기고, 이미 처리했거나 처리 중이면 그 응답을 다시 돌려준다.
+     *
+     * @param key         호출한 쪽(계정 등)까지 포함한 key
+     * @param fingerprint 요청 본문. 같은 key 에 다른 본문이 오면 mismatch 의 응답을 돌려준다.
+     * @param inProgress  먼저 온 요청이 기다리는 시간 안에 끝나지 않았을 때의 응답
+     */
+    public ResponseEntity<?> execute(String key, Object fingerprint, Supplier<ResponseEntity<?>> action,
+                                     Supplier<ResponseEntity<?>> mismatch, Supplier<ResponseEntity<?>> inProgress) {
+        long deadline = System.nanoTime() + this.waitTimeoutNanos;
+        while (true) {
+            CompletableFuture<Stored> mine = new CompletableFuture<>();
+            CompletableFuture<Stored> existing = this.responses.putIfAbsent(key, mine);
+            if (existing == null) {
+                return run(key, fingerprint, action, mine);
+            }
+
+            Stored stored;
+            try {
+                stored = existing.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return inProgress.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return inProgress.get();
+            } catch (ExecutionException e) {
+                // run 은 항상 정상 완료하므로 오지 않는다
+                throw new IllegalStateException(e.getCause());
+            }
+            if (stored == null) {
+                // 먼저 온 요청이 실패해서 key 가 비워졌다 - 이번 요청이 다시 처리한다
+                continue;
+            }
+            if (!stored.fingerprint.equals(fingerprint)) {
+                return mismatch.get();
+            }
+            return ResponseEntity.status(stored.response.getStatusCode())
+                    .headers(stored.response.getHeaders())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(stored.response.getBody());
+        }
+    }
+
+    private ResponseEntity<?> run(String key, Object fingerprint, Supplier<ResponseEntity<?>> action,
+                                  CompletableFuture<Stored> mine) {
+        ResponseEntity<?> response = null;
+        try {
+            response = action.get();
+            return response;
+        } finally {
+            if (response != null && response.getStatusCode().is2xxSuccessful()) {
+                mine.complete(new Stored(fingerprint, response));
+            } else {
+                this.responses.remove(key, mine);
+                mine.complete(null);
+            }
+        }
+    }
+
+    private static class Stored {
+        private final Object fingerprint;
+        private final ResponseEntity<?> response;
+
+        Stored(Object fingerprint, ResponseEntity<?> response) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+        }
+    }
+}
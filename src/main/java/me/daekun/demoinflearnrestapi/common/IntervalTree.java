@@ -0,0 +1,199 @@
+package me.daekun.demoinflearnrestapi.common;
+
+import java.util.function.IntConsumer;
+
+/**
+ * 닫힌 구간 [start, end] 와 int id 를 담는 interval tree.
+ * (start, id) 순서의 AVL 트리에 노드마다 서브트리의 최대 end 를 붙여서, 겹치지 않는 서브트리는 통째로 건너뛴다.
+ * 조회는 O(log n + k), 추가 / 삭제는 O(log n). 스레드 안전하지 않다.
+ */
+public class IntervalTree {
+
+    private Node root;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        this.root = null;
+        this.size = 0;
+    }
+
+    /**
+     * @throws IllegalArgumentException start 가 end 보다 큰 경우
+     */
+    public void insert(long start, long end, int id) {
+        if (start > end) {
+            throw new IllegalArgumentException("start > end: [" + start + ", " + end + "]");
+        }
+        this.root = insert(this.root, start, end, id);
+    }
+
+    /**
+     * 같은 start 와 id 로 추가한 구간을 지운다. 없으면 false.
+     */
+    public boolean remove(long start, int id) {
+        int before = this.size;
+        this.root = remove(this.root, start, id);
+        return this.size < before;
+    }
+
+    /**
+     * point 를 포함하는 구간의 id 를 (start, id) 오름차순으로 넘겨준다.
+     */
+    public void stab(long point, IntConsumer consumer) {
+        overlap(point, point, consumer);
+    }
+
+    /**
+     * [from, to] 와 겹치는 구간의 id 를 (start, id) 오름차순으로 넘겨준다.
+     */
+    public void overlap(long from, long to, IntConsumer consumer) {
+        overlap(this.root, from, to, consumer);
+    }
+
+    private static void overlap(Node node, long from, long to, IntConsumer consumer) {
+        // 서브트리의 어떤 구간도 from 까지 닿지 않는다
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        overlap(node.left, from, to, consumer);
+        // 오른쪽 서브트리는 start 가 더 크므로 여기서 멈춰도 된다
+        if (node.start > to) {
+            return;
+        }
+        if (node.end >= from) {
+            consumer.accept(node.id);
+        }
+        overlap(node.right, from, to, consumer);
+    }
+
+    private Node insert(Node node, long start, long end, int id) {
+        if (node == null) {
+            this.size++;
+            return new Node(start, end, id);
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = insert(node.left, start, end, id);
+        } else if (cmp > 0) {
+            node.right = insert(node.right, start, end, id);
+        } else {
+            node.end = end;
+        }
+        return balance(node);
+    }
+
+    private Node remove(Node node, long start, int id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            this.size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.right = removeMin(node.right);
+            node.start = successor.start;
+            node.end = successor.end;
+            node.id = successor.id;
+        }
+        return balance(node);
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static int compare(long start, int id, Node node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Integer.compare(id, node.id);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static class Node {
+        long start;
+        long end;
+        long maxEnd;
+        int id;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(long start, long end, int id) {
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+            this.id = id;
+        }
+    }
+}
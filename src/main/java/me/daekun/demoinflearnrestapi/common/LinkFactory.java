@@ -0,0 +1,60 @@
+package me.daekun.demoinflearnrestapi.common;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * linkTo(methodOn(...)) 대신 쓰는 링크 생성기.
+ * base URI 는 요청마다 한번만 계산해서 요청 속성에 담아두고, 링크는 호출하는 쪽이 넘긴 컨트롤러 경로를 이어붙이기만 한다.
+ * 그래서 페이지의 이벤트 수만큼 프록시 / 리플렉션 / URI 파싱을 반복하지 않고, common 이 컨트롤러 패키지를 알 필요도 없다.
+ */
+public final class LinkFactory {
+
+    /**
+     * API 진입점(index) 경로. IndexController 의 매핑과 에러 응답의 index 링크가 같이 쓴다.
+     */
+    public static final String INDEX_PATH = "/api";
+
+    private static final String ATTRIBUTE = LinkFactory.class.getName();
+
+    private final String baseUri;
+
+    private LinkFactory(String baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    /**
+     * 현재 요청의 base URI 로 만든 LinkFactory. 같은 요청 안에서는 같은 인스턴스를 돌려준다.
+     */
+    public static LinkFactory current() {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        LinkFactory linkFactory = (LinkFactory) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (linkFactory == null) {
+            linkFactory = forBaseUri(ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString());
+            attributes.setAttribute(ATTRIBUTE, linkFactory, RequestAttributes.SCOPE_REQUEST);
+        }
+        return linkFactory;
+    }
+
+    /**
+     * 요청 스레드 밖(비동기 / 리액티브 처리)에서 쓰려면 요청 스레드에서 base URI 를 꺼내서 넘긴다.
+     */
+    public static LinkFactory forBaseUri(String baseUri) {
+        return new LinkFactory(baseUri);
+    }
+
+    public String href(String path) {
+        return this.baseUri + path;
+    }
+
+    public Link link(String path, String rel) {
+        return Link.of(href(path), LinkRelation.of(rel));
+    }
+
+    public Link index() {
+        return link(INDEX_PATH, "index");
+    }
+}
@@ -0,0 +1,77 @@
+package me.daekun.demoinflearnrestapi.common;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Objects;
+
+// PagedModel 과 같은 모양이지만 totalElements / totalPages 없이 size 와 number 만 내려준다.
+// spring-hateoas 1.3 에는 content 를 받는 생성자가 deprecated 된 것뿐이라, 빈 생성자로 만들고 content 는 직접 들고 getContent() 로 내준다.
+public class SlicedModel<T> extends CollectionModel<T> {
+
+    private final Collection<T> content;
+    private final SliceMetadata metadata;
+
+    public SlicedModel(Collection<T> content, Slice<?> slice, Link... links) {
+        this.content = Collections.unmodifiableList(new ArrayList<>(content));
+        this.metadata = new SliceMetadata(slice.getSize(), slice.getNumber());
+        add(links);
+    }
+
+    @Override
+    public Collection<T> getContent() {
+        return content;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return content.iterator();
+    }
+
+    @JsonProperty("page")
+    public SliceMetadata getMetadata() {
+        return metadata;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != getClass() || !super.equals(obj)) {
+            return false;
+        }
+        SlicedModel<?> that = (SlicedModel<?>) obj;
+        return content.equals(that.content) && metadata.equals(that.metadata);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), content, metadata);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SlicedModel { content: %s, metadata: %s, links: %s }", content, metadata, getLinks());
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    public static class SliceMetadata {
+        private final long size;
+        private final long number;
+
+        public SliceMetadata(long size, long number) {
+            this.size = size;
+            this.number = number;
+        }
+    }
+}
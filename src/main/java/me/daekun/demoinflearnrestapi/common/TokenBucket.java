@@ -0,0 +1,50 @@
+package me.daekun.demoinflearnrestapi.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 초당 permitsPerSecond 개씩 차고 최대 burst 개까지 모이는 토큰 버킷.
+ * 남은 토큰 수와 마지막 충전 시각을 따로 들지 않고 "버킷이 다시 가득 차는 시각"(GCRA 의 theoretical arrival time) 하나만
+ * AtomicLong 에 들고 있어서, 락 없이 compareAndSet 한번으로 꺼낼 수 있다.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerPermit;
+    private final long burstNanos;
+    // 지금까지 꺼낸 토큰을 모두 다시 채우는 시각 (System.nanoTime 기준)
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond and burst must be positive");
+        }
+        this.nanosPerPermit = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstNanos = this.nanosPerPermit * burst;
+    }
+
+    /**
+     * 토큰 하나를 꺼낸다.
+     *
+     * @return 꺼냈으면 0, 토큰이 없으면 다음 토큰이 생길 때까지 기다려야 하는 nano 초
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = this.fullAt.get();
+            long next = Math.max(current, now) + this.nanosPerPermit;
+            long wait = next - now - this.burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (this.fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 꺼낸 토큰을 돌려놓는다. (같이 확인한 다른 버킷에서 거절당한 경우)
+     */
+    public void release() {
+        this.fullAt.addAndGet(-this.nanosPerPermit);
+    }
+}
@@ -5,24 +5,41 @@ import me.daekun.demoinflearnrestapi.accounts.AccountRepository;
 import me.daekun.demoinflearnrestapi.accounts.AccountRole;
 import me.daekun.demoinflearnrestapi.accounts.AccountService;
 import me.daekun.demoinflearnrestapi.common.AppProperties;
+import me.daekun.demoinflearnrestapi.events.DirectEventMapper;
+import me.daekun.demoinflearnrestapi.events.EventMapper;
+import me.daekun.demoinflearnrestapi.events.ModelMapperEventMapper;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Set;
 
 @Configuration
+@EnableCaching
+@EnableAsync
+@EnableScheduling
 public class AppConfig {
     @Bean
     public ModelMapper modelMapper() {
         return new ModelMapper();
     }
 
+    @Bean
+    public EventMapper eventMapper(AppProperties appProperties, ModelMapper modelMapper) {
+        if (appProperties.getEventMapper() == AppProperties.EventMapperType.MODEL_MAPPER) {
+            return new ModelMapperEventMapper(modelMapper);
+        }
+        return new DirectEventMapper();
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return PasswordEncoderFactories.createDelegatingPasswordEncoder();
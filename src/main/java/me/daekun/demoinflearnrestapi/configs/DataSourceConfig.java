@@ -0,0 +1,23 @@
+package me.daekun.demoinflearnrestapi.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * R2DBC ConnectionFactory 가 있으면 Boot 의 DataSourceAutoConfiguration 이 빠지므로 JPA 가 쓸 DataSource 를 직접 만든다.
+ * spring.datasource.* / spring.datasource.hikari.* 설정은 그대로 적용된다.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,137 @@
+package me.daekun.demoinflearnrestapi.configs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import me.daekun.demoinflearnrestapi.accounts.AccountAdapter;
+import me.daekun.demoinflearnrestapi.common.AppProperties;
+import me.daekun.demoinflearnrestapi.common.TokenBucket;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * /api/** 요청 수 제한. OAuth 토큰 인증 다음에 두고, 계정과 OAuth 클라이언트의 토큰 버킷에서 하나씩 꺼낸다.
+ * 로그인하지 않은 요청은 계정 대신 IP 로 센다. GET / HEAD / OPTIONS 는 읽기, 나머지는 쓰기 한도(my-app.*-read-limit / *-write-limit)를 쓴다.
+ * 버킷이 비었으면 429 와 다음 토큰이 생기기까지의 초를 Retry-After 로 돌려준다.
+ * 버킷은 마지막으로 쓴 뒤 IDLE_EXPIRY 가 지나면 버리므로 (그 사이에 가득 찼다) 키가 많아도 메모리가 계속 늘지 않는다.
+ * 서블릿 필터로 따로 등록되지 않도록 빈으로 만들지 않고 ResourceServerConfig 에서 만든다.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(10);
+
+    private final AppProperties appProperties;
+    // 계정 id(Integer) / 로그인 이름 / "ip:주소" -> 버킷
+    private final Cache<Object, Buckets> accountBuckets;
+    // OAuth client id -> 버킷
+    private final Cache<String, Buckets> clientBuckets;
+    // 요청마다 람다를 새로 만들지 않도록 한번만 만든다
+    private final Function<Object, Buckets> newAccountBuckets;
+    private final Function<String, Buckets> newClientBuckets;
+
+    public RateLimitFilter(AppProperties appProperties) {
+        this.appProperties = appProperties;
+        this.newAccountBuckets = key -> new Buckets(appProperties.getAccountReadLimit(), appProperties.getAccountWriteLimit());
+        this.newClientBuckets = key -> new Buckets(appProperties.getClientReadLimit(), appProperties.getClientWriteLimit());
+        this.accountBuckets = Caffeine.newBuilder().expireAfterAccess(IDLE_EXPIRY).build();
+        this.clientBuckets = Caffeine.newBuilder().expireAfterAccess(IDLE_EXPIRY).build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // servletPath 는 서블릿 매핑에 따라 비어 있을 수 있으므로 요청 URI 로 본다
+        return !this.appProperties.isRateLimitEnabled()
+                || !request.getRequestURI().startsWith("/api/", request.getContextPath().length());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long waitNanos = tryAcquire(request, System.nanoTime());
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L)));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * @return 통과면 0, 아니면 기다려야 하는 nano 초
+     */
+    long tryAcquire(HttpServletRequest request, long now) {
+        boolean read = isRead(request.getMethod());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        String clientId = null;
+        Object accountKey;
+        if (authentication instanceof OAuth2Authentication) {
+            OAuth2Authentication oauth2Authentication = (OAuth2Authentication) authentication;
+            clientId = oauth2Authentication.getOAuth2Request().getClientId();
+            accountKey = oauth2Authentication.isClientOnly() ? null : accountKey(oauth2Authentication);
+        } else if (authentication != null && authentication.isAuthenticated()) {
+            accountKey = accountKey(authentication);
+        } else {
+            accountKey = "ip:" + request.getRemoteAddr();
+        }
+
+        TokenBucket accountBucket = null;
+        if (accountKey != null) {
+            accountBucket = this.accountBuckets.get(accountKey, this.newAccountBuckets).of(read);
+            long wait = accountBucket.tryAcquire(now);
+            if (wait > 0) {
+                return wait;
+            }
+        }
+        if (clientId != null) {
+            TokenBucket clientBucket = this.clientBuckets.get(clientId, this.newClientBuckets).of(read);
+            long wait = clientBucket.tryAcquire(now);
+            if (wait > 0) {
+                // 통과하지 못한 요청은 계정 한도에서 빼지 않는다
+                if (accountBucket != null) {
+                    accountBucket.release();
+                }
+                return wait;
+            }
+        }
+        return 0;
+    }
+
+    private static Object accountKey(Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof AccountAdapter) {
+            return ((AccountAdapter) principal).getAccount().getId();
+        }
+        return authentication.getName();
+    }
+
+    private static boolean isRead(String method) {
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+
+    private static class Buckets {
+        private final TokenBucket read;
+        private final TokenBucket write;
+
+        Buckets(AppProperties.RateLimit readLimit, AppProperties.RateLimit writeLimit) {
+            this.read = new TokenBucket(readLimit.getPermitsPerSecond(), readLimit.getBurst());
+            this.write = new TokenBucket(writeLimit.getPermitsPerSecond(), writeLimit.getBurst());
+        }
+
+        TokenBucket of(boolean read) {
+            return read ? this.read : this.write;
+        }
+    }
+}
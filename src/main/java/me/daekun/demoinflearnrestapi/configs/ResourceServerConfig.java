@@ -1,5 +1,6 @@
 package me.daekun.demoinflearnrestapi.configs;
 
+import me.daekun.demoinflearnrestapi.common.AppProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -7,13 +8,23 @@ import org.springframework.security.oauth2.config.annotation.web.configuration.E
 import org.springframework.security.oauth2.config.annotation.web.configuration.ResourceServerConfigurerAdapter;
 import org.springframework.security.oauth2.config.annotation.web.configurers.ResourceServerSecurityConfigurer;
 import org.springframework.security.oauth2.provider.error.OAuth2AccessDeniedHandler;
+import org.springframework.security.web.authentication.preauth.AbstractPreAuthenticatedProcessingFilter;
 
 @Configuration
 @EnableResourceServer
 public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
+
+    private final AppProperties appProperties;
+
+    public ResourceServerConfig(AppProperties appProperties) {
+        this.appProperties = appProperties;
+    }
+
     @Override
     public void configure(HttpSecurity http) throws Exception {
         http
+            // OAuth2 토큰 인증(AbstractPreAuthenticatedProcessingFilter 앞) 다음에 세야 계정과 클라이언트를 알 수 있다
+            .addFilterAfter(new RateLimitFilter(this.appProperties), AbstractPreAuthenticatedProcessingFilter.class)
             .anonymous()
                 .and()
             .authorizeRequests()
@@ -1,6 +1,8 @@
 package me.daekun.demoinflearnrestapi.configs;
 
 import me.daekun.demoinflearnrestapi.accounts.AccountService;
+import me.daekun.demoinflearnrestapi.accounts.AccountUserAuthenticationConverter;
+import me.daekun.demoinflearnrestapi.common.AppProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
@@ -13,8 +15,11 @@ import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
 import org.springframework.security.oauth2.provider.token.TokenStore;
 import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
 
 @Configuration
 @EnableWebSecurity
@@ -26,11 +31,39 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    @Autowired
+    AppProperties appProperties;
+
+    /**
+     * my-app.token-store=jwt 이면 토큰 자체에 서명된 계정 정보를 담아서 저장소 없이 검증한다 (노드끼리 공유되고 재시작해도 유지된다).
+     * 기본(in-memory)은 토큰을 이 노드의 메모리에 두고 요청마다 찾는다.
+     */
     @Bean
     public TokenStore tokenStore() {
+        if (this.appProperties.getTokenStore() == AppProperties.TokenStoreType.JWT) {
+            return new JwtTokenStore(accessTokenConverter());
+        }
         return new InMemoryTokenStore();
     }
 
+    @Bean
+    public JwtAccessTokenConverter accessTokenConverter() {
+        DefaultAccessTokenConverter accessTokenConverter = new DefaultAccessTokenConverter();
+        accessTokenConverter.setUserTokenConverter(new AccountUserAuthenticationConverter());
+
+        JwtAccessTokenConverter jwtAccessTokenConverter = new JwtAccessTokenConverter();
+        jwtAccessTokenConverter.setAccessTokenConverter(accessTokenConverter);
+        if (this.appProperties.getTokenStore() == AppProperties.TokenStoreType.JWT) {
+            String signingKey = this.appProperties.getJwtSigningKey();
+            if (signingKey == null || signingKey.length() < 32) {
+                throw new IllegalStateException("my-app.jwt-signing-key must be at least 32 characters when my-app.token-store=jwt");
+            }
+            // HMAC-SHA256 대칭 키 - 발급과 검증을 같은 애플리케이션(노드들)이 하므로 공개키가 필요 없다
+            jwtAccessTokenConverter.setSigningKey(signingKey);
+        }
+        return jwtAccessTokenConverter;
+    }
+
     @Bean
     @Override
     public AuthenticationManager authenticationManagerBean() throws Exception {
@@ -0,0 +1,53 @@
+package me.daekun.demoinflearnrestapi.configs;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * my-app.virtual-threads=true 이면 Tomcat 요청 처리와 @Async / MVC 비동기 작업(StreamingResponseBody 등)을 가상 스레드에서 실행한다.
+ * JDBC / bcrypt 에서 블로킹되는 동안 스레드 풀 크기에 묶이지 않는다. 대신 동시 DB 작업 수는 Hikari 풀 크기가 제한한다.
+ *
+ * 가상 스레드는 Java 21 부터 있으므로 빌드 기준(java.version)은 그대로 두고 실행 시점에 리플렉션으로 만든다.
+ * Java 21 미만에서 켜면 시작할 때 실패한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "my-app.virtual-threads", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        return newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    // Boot 의 applicationTaskExecutor(스레드 풀)를 대신한다. @Async 와 MVC 비동기 처리가 이 이름의 빈을 쓴다.
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("my-app.virtual-threads=true requires Java 21 or later (running on "
+                    + Runtime.version() + ")", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create a virtual thread executor", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.*;
+import me.daekun.demoinflearnrestapi.accounts.Account;
+import me.daekun.demoinflearnrestapi.accounts.AccountSerializer;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Builder
+@AllArgsConstructor @NoArgsConstructor
+@Getter @Setter @EqualsAndHashCode(of = "id")
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_event_account", columnNames = {"event_id", "account_id"}))
+public class Enrollment {
+    @Id @GeneratedValue
+    private Integer id;
+    // 이벤트 / 계정을 지우면 참가 신청도 같이 지워진다
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private Event event;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonSerialize(using = AccountSerializer.class)
+    private Account account;
+    private LocalDateTime enrolledAt;
+
+    @JsonProperty("eventId")
+    public Integer getEventId() {
+        // 프록시를 초기화하지 않고 id 만 꺼낸다
+        return this.event.getId();
+    }
+}
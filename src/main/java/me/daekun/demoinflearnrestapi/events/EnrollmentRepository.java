@@ -0,0 +1,18 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer> {
+
+    // Enrollment.getEventId() 가 있어서 파생 쿼리에서는 연관관계를 _ 로 구분한다
+    boolean existsByEvent_IdAndAccount_Id(Integer eventId, Integer accountId);
+
+    long countByEvent_Id(Integer eventId);
+
+    @Modifying
+    @Query("delete from Enrollment e where e.event.id = :eventId and e.account.id = :accountId")
+    int deleteByEventIdAndAccountId(@Param("eventId") Integer eventId, @Param("accountId") Integer accountId);
+}
@@ -0,0 +1,135 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import me.daekun.demoinflearnrestapi.accounts.Account;
+import me.daekun.demoinflearnrestapi.common.AppProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이벤트 참가 신청 / 취소.
+ * 자리는 EventRepository.reserveSeat 의 조건부 update 한 문장으로 잡는다 - 요청 내내 행 락을 잡고 있지 않고,
+ * 동시에 몰려도 enrolledCount 가 limitOfEnrollment 를 넘지 않는다. 상태가 BEGAN_ENROLLMENT 가 아니면 자리를 잡지 않는다.
+ * 매진을 확인한 이벤트는 my-app.sold-out-ttl 동안 DB 에 가지 않고 바로 매진으로 응답한다 (노드마다 따로 가지는 힌트).
+ */
+@Service
+public class EnrollmentService {
+
+    public enum Result {
+        ENROLLED, CANCELLED, NOT_FOUND, NOT_OPEN, NOT_ENROLLING, SOLD_OUT, ALREADY_ENROLLED, NOT_ENROLLED
+    }
+
+    private final EventService eventService;
+    private final EventRepository eventRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties appProperties;
+
+    // eventId -> 매진 힌트가 끝나는 시각(System.nanoTime)
+    private final Map<Integer, Long> soldOutUntil = new ConcurrentHashMap<>();
+
+    public EnrollmentService(EventService eventService, EventRepository eventRepository,
+                             EnrollmentRepository enrollmentRepository, EntityManager entityManager,
+                             PlatformTransactionManager transactionManager, AppProperties appProperties) {
+        this.eventService = eventService;
+        this.eventRepository = eventRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.appProperties = appProperties;
+    }
+
+    public Result enroll(Integer eventId, Account account) {
+        if (isSoldOut(eventId)) {
+            return Result.SOLD_OUT;
+        }
+        // 모집 기간 확인은 캐시된 이벤트로 한다. 자리 수는 캐시를 믿지 않고 update 문이 판단한다.
+        Optional<Event> optionalEvent = this.eventService.findById(eventId);
+        if (optionalEvent.isEmpty()) {
+            return Result.NOT_FOUND;
+        }
+        if (optionalEvent.get().getEventStatus() != EventStatus.BEGAN_ENROLLMENT) {
+            return Result.NOT_ENROLLING;
+        }
+        if (!isEnrollmentOpen(optionalEvent.get(), LocalDateTime.now())) {
+            return Result.NOT_OPEN;
+        }
+
+        try {
+            return this.transactionTemplate.execute(status -> {
+                if (this.enrollmentRepository.existsByEvent_IdAndAccount_Id(eventId, account.getId())) {
+                    return Result.ALREADY_ENROLLED;
+                }
+                if (this.eventRepository.reserveSeat(eventId) == 0) {
+                    // 캐시를 읽은 뒤에 상태가 바뀌었을 수 있으므로 매진으로 표시하기 전에 상태를 다시 본다
+                    Event current = this.entityManager.find(Event.class, eventId);
+                    if (current != null && current.getEventStatus() != EventStatus.BEGAN_ENROLLMENT) {
+                        return Result.NOT_ENROLLING;
+                    }
+                    markSoldOut(eventId);
+                    return Result.SOLD_OUT;
+                }
+                Enrollment enrollment = Enrollment.builder()
+                        .event(this.entityManager.getReference(Event.class, eventId))
+                        .account(this.entityManager.getReference(Account.class, account.getId()))
+                        .enrolledAt(LocalDateTime.now())
+                        .build();
+                this.enrollmentRepository.saveAndFlush(enrollment);
+                return Result.ENROLLED;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 같은 계정이 동시에 두 번 신청해서 unique 제약에 걸린 경우 - 잡았던 자리도 같이 롤백됐다
+            return Result.ALREADY_ENROLLED;
+        }
+    }
+
+    public Result cancel(Integer eventId, Account account) {
+        Result result = this.transactionTemplate.execute(status -> {
+            if (this.enrollmentRepository.deleteByEventIdAndAccountId(eventId, account.getId()) == 0) {
+                return Result.NOT_ENROLLED;
+            }
+            this.eventRepository.releaseSeat(eventId);
+            return Result.CANCELLED;
+        });
+        if (result == Result.CANCELLED) {
+            this.soldOutUntil.remove(eventId);
+        }
+        return result;
+    }
+
+    // limitOfEnrollment 가 늘었을 수 있으므로 매진 힌트를 지운다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventSaved(EventSaved eventSaved) {
+        this.soldOutUntil.remove(eventSaved.getEvent().getId());
+    }
+
+    static boolean isEnrollmentOpen(Event event, LocalDateTime now) {
+        return event.getBeginEnrollmentDateTime() != null && event.getCloseEnrollmentDateTime() != null
+                && !now.isBefore(event.getBeginEnrollmentDateTime()) && !now.isAfter(event.getCloseEnrollmentDateTime());
+    }
+
+    private boolean isSoldOut(Integer eventId) {
+        Long until = this.soldOutUntil.get(eventId);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until < 0) {
+            return true;
+        }
+        this.soldOutUntil.remove(eventId, until);
+        return false;
+    }
+
+    private void markSoldOut(Integer eventId) {
+        this.soldOutUntil.put(eventId, System.nanoTime() + this.appProperties.getSoldOutTtl().toNanos());
+    }
+}
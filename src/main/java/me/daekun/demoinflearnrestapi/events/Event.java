@@ -1,20 +1,42 @@
 package me.daekun.demoinflearnrestapi.events;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.*;
 import me.daekun.demoinflearnrestapi.accounts.Account;
 import me.daekun.demoinflearnrestapi.accounts.AccountSerializer;
 
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
 import javax.persistence.*;
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Builder
 @AllArgsConstructor @NoArgsConstructor
 @Getter @Setter @EqualsAndHashCode(of = "id")
 @Entity
+@DynamicUpdate // PATCH 로 바뀐 컬럼만 update 한다
+@Table(indexes = {
+        @Index(name = "idx_event_status_begin", columnList = "eventStatus, beginEventDateTime"),
+        @Index(name = "idx_event_status_enrollment", columnList = "eventStatus, beginEnrollmentDateTime"),
+        @Index(name = "idx_event_free_offline_begin", columnList = "free, offline, beginEventDateTime"),
+        @Index(name = "idx_event_price", columnList = "basePrice, maxPrice"),
+        // maxPrice 만으로 거르는 경우 idx_event_price 의 선두 컬럼(basePrice)이 없어서 따로 둔다
+        @Index(name = "idx_event_max_price", columnList = "maxPrice"),
+        @Index(name = "idx_event_begin_id", columnList = "beginEventDateTime, id"),
+        @Index(name = "idx_event_end", columnList = "endEventDateTime"),
+        @Index(name = "idx_event_modified", columnList = "modifiedAt")
+})
 public class Event {
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "event_seq")
+    @GenericGenerator(name = "event_seq", strategy = "me.daekun.demoinflearnrestapi.common.PooledSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "event_seq"))
     private Integer id;
     private String name;
     private String description;
@@ -26,14 +48,29 @@ public class Event {
     private int basePrice; // optional
     private int maxPrice; // optional
     private int limitOfEnrollment;
+    // 확정된 참가 신청 수. 동시 신청에서 덮어쓰지 않도록 EventRepository.reserveSeat / releaseSeat 로만 바꾼다.
+    @JsonIgnore
+    private int enrolledCount;
     private boolean offline;
     private boolean free;
     @Enumerated(EnumType.STRING) // String: Enum 이름을 DB에 저장
     private EventStatus eventStatus = EventStatus.DRAFT;
-    @ManyToOne
+    @Version
+    @JsonIgnore // 본문 대신 ETag 로 내려준다
+    private Integer version;
+    @UpdateTimestamp
+    @JsonIgnore // 목록의 Last-Modified 계산용
+    private Instant modifiedAt;
+    // 응답에는 manager 의 id 만 나가므로 프록시(FK 값)만 채우고 Account 와 roles 는 조회하지 않는다.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonSerialize(using = AccountSerializer.class)
     private Account manager;
 
+    public boolean isManagedBy(Account account) {
+        // 프록시의 id 는 초기화 없이 꺼낼 수 있으므로 equals 대신 id 로 비교한다.
+        return this.manager != null && account != null && this.manager.getId().equals(account.getId());
+    }
+
     public void update() {
         // Update Free
         if (this.basePrice == 0 && this.maxPrice == 0) {
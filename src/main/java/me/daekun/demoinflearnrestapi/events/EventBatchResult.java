@@ -0,0 +1,43 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.Getter;
+import org.springframework.validation.Errors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// POST /api/events/batch 응답. 요청 배열의 순서(index)대로 생성된 id 또는 에러 목록을 담는다.
+@Getter
+public class EventBatchResult {
+
+    private int created;
+    private int failed;
+    private final List<Item> results = new ArrayList<>();
+
+    public void addCreated(int index, Integer id) {
+        this.results.add(new Item(index, id, null));
+        this.created++;
+    }
+
+    public void addFailed(int index, Errors errors) {
+        this.results.add(new Item(index, null, errors));
+        this.failed++;
+    }
+
+    @Getter
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item {
+        private final int index;
+        private final Integer id;
+        @JsonUnwrapped // ErrorsSerializer 가 "errors" 필드를 직접 쓴다
+        private final Errors errors;
+
+        public Item(int index, Integer id, Errors errors) {
+            this.index = index;
+            this.id = id;
+            this.errors = errors;
+        }
+    }
+}
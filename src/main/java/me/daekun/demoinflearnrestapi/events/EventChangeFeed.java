@@ -0,0 +1,378 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import me.daekun.demoinflearnrestapi.common.AppProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GET /api/events/changes 의 SSE 변경 피드.
+ * 저장(커밋)된 이벤트를 크기가 my-app.change-feed-capacity 인 링 버퍼에 순번과 함께 쌓고, 구독자는 자기가 받은 마지막 순번(cursor)만 들고 있다.
+ * 연결마다 스레드를 두지 않는다 - 디스패처 스레드 하나가 새 변경이 생기면 깨어나서 밀린 구독자를 my-app.change-feed-senders 개의
+ * 전송 스레드에 넘기고, 전송 중인 구독자는 건너뛴다 (끝나면 cursor 부터 이어서 보낸다).
+ * 구독자마다 따로 쌓아두는 버퍼가 없으므로 cursor 가 링에서 밀려날 만큼 느린 구독자에게는 resync 를 보내고 연결을 끊는다.
+ * 읽지 않는 클라이언트에게 쓰면 send 가 소켓 버퍼가 빌 때까지 막히므로, 한번의 전송이 my-app.change-feed-send-timeout 을 넘기면
+ * 디스패처가 그 구독자를 내보내고 막힌 스레드 대신 전송 스레드를 하나 더 둔다. 막힌 send 가 돌아오면 연결을 에러로 끝내고 스레드 수를 되돌린다.
+ * 전송 스레드는 my-app.change-feed-max-senders 개까지만 늘리고, 모든 전송 스레드가 막혀 있으면 보낼 차례가 된 구독자는 큐에 쌓지 않고 끊는다.
+ * 이벤트 id 는 "epoch-순번" 이다. 다시 연결할 때 Last-Event-ID 로 보내면 그 다음부터 받고, 다른 프로세스(재시작 전)의 id 면 resync 를 받는다.
+ */
+@Component
+public class EventChangeFeed {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String RESYNC = "resync";
+
+    // 한 구독자에게 링을 한번 잠글 때 꺼내는 변경 수
+    private static final int DRAIN_BATCH = 64;
+
+    // Subscriber.sendStartedAt - 보내고 있지 않음 / send-timeout 을 넘겨서 내보냄. 그 밖의 값은 send 를 시작한 System.nanoTime()
+    private static final long IDLE = 0;
+    private static final long STALLED = Long.MIN_VALUE;
+
+    private final AppProperties appProperties;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // 순번 n 은 ring[n % capacity] 에 있다. 링과 lastSequence 는 this 로 잠근다.
+    private final Change[] ring;
+    private long lastSequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Object signal = new Object();
+    private boolean signalled;
+    private volatile boolean running;
+    private Thread dispatcher;
+    private ThreadPoolExecutor senders;
+    // send-timeout 을 넘겨서 아직 돌아오지 않은 send 수. senders 로 잠근다.
+    private int stalledSenders;
+
+    public EventChangeFeed(AppProperties appProperties) {
+        this.appProperties = appProperties;
+        this.ring = new Change[appProperties.getChangeFeedCapacity()];
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (this.running) {
+            return;
+        }
+        this.running = true;
+        AtomicInteger senderNumber = new AtomicInteger();
+        int senderThreads = this.appProperties.getChangeFeedSenders();
+        int maxSenderThreads = Math.max(senderThreads, this.appProperties.getChangeFeedMaxSenders());
+        // 큐에 상한이 없으므로 스레드는 core 만큼만 생긴다. 막힌 send 가 생기면 core 를 max 까지 늘린다.
+        this.senders = new ThreadPoolExecutor(senderThreads, maxSenderThreads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "event-change-sender-" + senderNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher = new Thread(this::dispatch, "event-change-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            if (!this.running) {
+                return;
+            }
+            this.running = false;
+            thread = this.dispatcher;
+        }
+        thread.interrupt();
+        this.senders.shutdownNow();
+        this.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        this.subscribers.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventSaved(EventSaved eventSaved) {
+        append(eventSaved.isCreated() ? CREATED : UPDATED, eventSaved.getEvent().getId());
+    }
+
+    /**
+     * @param lastEventId 클라이언트가 받은 마지막 이벤트 id (Last-Event-ID). 없으면 지금부터의 변경만 받는다.
+     * @param links       요청 스레드에서 만든 링크 생성기 - 전송 스레드에서 href 를 만드는 데 쓴다
+     */
+    public SseEmitter subscribe(String lastEventId, EventLinks links) {
+        return subscribe(new SseEmitter(this.appProperties.getChangeFeedTimeout().toMillis()), lastEventId, links);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId, EventLinks links) {
+        Subscriber subscriber = new Subscriber(emitter, links, lastEventId == null ? lastSequence() : sequenceOf(lastEventId));
+        emitter.onCompletion(() -> this.subscribers.remove(subscriber));
+        emitter.onTimeout(() -> this.subscribers.remove(subscriber));
+        emitter.onError(e -> this.subscribers.remove(subscriber));
+        this.subscribers.add(subscriber);
+        // Last-Event-ID 뒤로 밀린 변경을 바로 보낸다
+        signal();
+        return emitter;
+    }
+
+    int subscriberCount() {
+        return this.subscribers.size();
+    }
+
+    int senderThreads() {
+        return this.senders.getCorePoolSize();
+    }
+
+    String eventId(long sequence) {
+        return this.epoch + "-" + sequence;
+    }
+
+    void append(String type, Integer eventId) {
+        synchronized (this) {
+            long sequence = ++this.lastSequence;
+            this.ring[(int) (sequence % this.ring.length)] = new Change(sequence, type, eventId);
+        }
+        signal();
+    }
+
+    synchronized long lastSequence() {
+        return this.lastSequence;
+    }
+
+    /**
+     * after 다음 순번부터 최대 max 개의 변경. 이미 링에서 밀려났거나 이 프로세스가 준 적 없는 순번이면 null (resync 해야 한다).
+     */
+    synchronized List<Change> changesAfter(long after, int max) {
+        long oldest = Math.max(1, this.lastSequence - this.ring.length + 1);
+        if (after < oldest - 1 || after > this.lastSequence) {
+            return null;
+        }
+        long until = Math.min(this.lastSequence, after + max);
+        if (until == after) {
+            return Collections.emptyList();
+        }
+        List<Change> changes = new ArrayList<>((int) (until - after));
+        for (long sequence = after + 1; sequence <= until; sequence++) {
+            changes.add(this.ring[(int) (sequence % this.ring.length)]);
+        }
+        return changes;
+    }
+
+    private long sequenceOf(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(this.epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void signal() {
+        synchronized (this.signal) {
+            this.signalled = true;
+            this.signal.notify();
+        }
+    }
+
+    private void dispatch() {
+        long heartbeatNanos = this.appProperties.getChangeFeedHeartbeat().toNanos();
+        long sendTimeoutNanos = this.appProperties.getChangeFeedSendTimeout().toNanos();
+        // 막힌 전송을 send-timeout 안에 찾아내도록 heartbeat 보다 자주 깨어날 수 있다
+        long waitMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(Math.min(heartbeatNanos, sendTimeoutNanos)));
+        long nextHeartbeat = System.nanoTime() + heartbeatNanos;
+        while (this.running) {
+            boolean changed;
+            synchronized (this.signal) {
+                if (!this.signalled) {
+                    try {
+                        this.signal.wait(waitMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                changed = this.signalled;
+                this.signalled = false;
+            }
+            long now = System.nanoTime();
+            evictStalled(now, sendTimeoutNanos);
+            // heartbeat 동안 새 변경이 없었으면 끊긴 연결을 찾아내기 위해 heartbeat 를 보낸다
+            boolean heartbeat = !changed && now - nextHeartbeat >= 0;
+            if (changed || heartbeat) {
+                nextHeartbeat = now + heartbeatNanos;
+                for (Subscriber subscriber : this.subscribers) {
+                    submit(subscriber, heartbeat);
+                }
+            }
+        }
+    }
+
+    private void evictStalled(long now, long sendTimeoutNanos) {
+        for (Subscriber subscriber : this.subscribers) {
+            long started = subscriber.sendStartedAt.get();
+            // send 가 돌아오면서 먼저 0 으로 바꿨으면 CAS 가 실패하므로 이미 끝난 전송을 내보내지 않는다
+            if (started != IDLE && started != STALLED && now - started > sendTimeoutNanos
+                    && subscriber.sendStartedAt.compareAndSet(started, STALLED)) {
+                drop(subscriber);
+                stalledSenders(1);
+            }
+        }
+    }
+
+    // 막힌 send 수만큼 전송 스레드를 더 두되 maximumPoolSize 를 넘기지 않는다
+    private void stalledSenders(int delta) {
+        synchronized (this.senders) {
+            this.stalledSenders += delta;
+            int target = this.appProperties.getChangeFeedSenders() + this.stalledSenders;
+            this.senders.setCorePoolSize(Math.max(this.appProperties.getChangeFeedSenders(),
+                    Math.min(target, this.senders.getMaximumPoolSize())));
+        }
+    }
+
+    private boolean hasLiveSender() {
+        synchronized (this.senders) {
+            return this.senders.getCorePoolSize() > this.stalledSenders;
+        }
+    }
+
+    private void submit(Subscriber subscriber, boolean heartbeat) {
+        if (!subscriber.sending.compareAndSet(false, true)) {
+            return;
+        }
+        if (!hasLiveSender()) {
+            // 전송 스레드가 모두 막혀 있다. 큐에 쌓으면 끝없이 늘어나므로 끊고, 클라이언트는 Last-Event-ID 로 다시 연결한다
+            drop(subscriber);
+            subscriber.sending.set(false);
+            subscriber.emitter.completeWithError(new IOException("No SSE sender available"));
+            return;
+        }
+        try {
+            this.senders.execute(() -> drain(subscriber, heartbeat));
+        } catch (RuntimeException e) {
+            // stop() 으로 전송 스레드가 내려간 경우
+            subscriber.sending.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber, boolean heartbeat) {
+        try {
+            boolean sent = false;
+            while (true) {
+                List<Change> changes = changesAfter(subscriber.cursor, DRAIN_BATCH);
+                if (changes == null) {
+                    resync(subscriber);
+                    return;
+                }
+                if (changes.isEmpty()) {
+                    break;
+                }
+                for (Change change : changes) {
+                    if (!send(subscriber, SseEmitter.event()
+                            .id(eventId(change.sequence))
+                            .name(change.type)
+                            .data(Map.of("eventId", change.eventId, "href", subscriber.links.eventHref(change.eventId)),
+                                    MediaType.APPLICATION_JSON))) {
+                        return;
+                    }
+                    subscriber.cursor = change.sequence;
+                }
+                sent = true;
+            }
+            if (heartbeat && !sent) {
+                send(subscriber, SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 끊었거나 이미 끝난 emitter
+            drop(subscriber);
+            return;
+        } finally {
+            subscriber.sending.set(false);
+        }
+        // 보내는 동안 쌓인 변경은 디스패처가 건너뛰었으므로 직접 이어서 보낸다
+        if (subscriber.cursor < lastSequence() && this.subscribers.contains(subscriber)) {
+            submit(subscriber, false);
+        }
+    }
+
+    /**
+     * 보내는 동안 시각을 남겨서 디스패처가 막힌 전송을 찾을 수 있게 한다.
+     *
+     * @return 제시간에 보냈으면 true, 그 사이 send-timeout 을 넘겨서 내보내졌으면 false (연결은 여기서 에러로 끝낸다)
+     */
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        long started = System.nanoTime();
+        subscriber.sendStartedAt.set(started);
+        boolean stalled = false;
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            if (!subscriber.sendStartedAt.compareAndSet(started, IDLE)) {
+                stalled = true;
+                stalledSenders(-1);
+                subscriber.emitter.completeWithError(new IOException("SSE send exceeded "
+                        + this.appProperties.getChangeFeedSendTimeout()));
+            }
+        }
+        return !stalled;
+    }
+
+    private void resync(Subscriber subscriber) {
+        drop(subscriber);
+        try {
+            if (send(subscriber, SseEmitter.event()
+                    .name(RESYNC)
+                    .data(Map.of("href", subscriber.links.eventsHref()), MediaType.APPLICATION_JSON))) {
+                subscriber.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        this.subscribers.remove(subscriber);
+    }
+
+    static class Change {
+        final long sequence;
+        final String type;
+        final Integer eventId;
+
+        Change(long sequence, String type, Integer eventId) {
+            this.sequence = sequence;
+            this.type = type;
+            this.eventId = eventId;
+        }
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final EventLinks links;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicLong sendStartedAt = new AtomicLong(IDLE);
+        // 마지막으로 보낸 순번. 전송 스레드 하나만 쓰고(sending), 그 사이의 가시성은 sending 이 보장한다.
+        private long cursor;
+
+        Subscriber(SseEmitter emitter, EventLinks links, long cursor) {
+            this.emitter = emitter;
+            this.links = links;
+            this.cursor = cursor;
+        }
+    }
+}
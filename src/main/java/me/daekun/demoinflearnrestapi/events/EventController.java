@@ -1,21 +1,43 @@
 package me.daekun.demoinflearnrestapi.events;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import me.daekun.demoinflearnrestapi.accounts.Account;
 import me.daekun.demoinflearnrestapi.accounts.AccountAdapter;
 import me.daekun.demoinflearnrestapi.accounts.AccountRole;
 import me.daekun.demoinflearnrestapi.accounts.CurrentUser;
+import me.daekun.demoinflearnrestapi.common.AppProperties;
 import me.daekun.demoinflearnrestapi.common.ErrorsResource;
+import me.daekun.demoinflearnrestapi.common.IdempotencyKeyStore;
+import me.daekun.demoinflearnrestapi.common.SlicedModel;
 import org.apache.coyote.Response;
-import org.modelmapper.ModelMapper;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
-import org.springframework.hateoas.server.LinkBuilder;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -24,31 +46,104 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Controller;
 
 import org.springframework.ui.Model;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 
 @Controller
-@RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_VALUE)
+@RequestMapping(value = EventController.EVENTS_PATH, produces = MediaTypes.HAL_JSON_VALUE)
 public class EventController {
 
+    public static final String EVENTS_PATH = "/api/events";
+    public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
     private final EventRepository eventRepository;
-    private final ModelMapper modelMapper;
+    private final EventMapper eventMapper;
     private final EventValidator eventValidator;
+    private final EventService eventService;
+    private final ObjectMapper objectMapper;
+    private final EventExporter eventExporter;
+    private final EventImporter eventImporter;
+    private final EventSearchIndex eventSearchIndex;
+    private final EventIntervalIndex eventIntervalIndex;
+    private final EventStatsCounter eventStatsCounter;
+    private final EnrollmentService enrollmentService;
+    private final EventChangeFeed eventChangeFeed;
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final AppProperties appProperties;
 
-    public EventController(EventRepository eventRepository, ModelMapper modelMapper, EventValidator eventValidator) {
+    public EventController(EventRepository eventRepository, EventMapper eventMapper, EventValidator eventValidator,
+                           EventService eventService, ObjectMapper objectMapper, EventExporter eventExporter,
+                           EventImporter eventImporter, EventSearchIndex eventSearchIndex,
+                           EventIntervalIndex eventIntervalIndex, EventStatsCounter eventStatsCounter,
+                           EnrollmentService enrollmentService, EventChangeFeed eventChangeFeed,
+                           IdempotencyKeyStore idempotencyKeyStore, AppProperties appProperties) {
         this.eventRepository = eventRepository;
-        this.modelMapper = modelMapper;
+        this.eventMapper = eventMapper;
         this.eventValidator = eventValidator;
+        this.eventService = eventService;
+        this.objectMapper = objectMapper;
+        this.eventExporter = eventExporter;
+        this.eventImporter = eventImporter;
+        this.eventSearchIndex = eventSearchIndex;
+        this.eventIntervalIndex = eventIntervalIndex;
+        this.eventStatsCounter = eventStatsCounter;
+        this.enrollmentService = enrollmentService;
+        this.eventChangeFeed = eventChangeFeed;
+        this.idempotencyKeyStore = idempotencyKeyStore;
+        this.appProperties = appProperties;
     }
 
+    /**
+     * Idempotency-Key 헤더가 있으면 같은 계정이 같은 key 로 다시 보낸 요청에는 저장하지 않고 처음 응답(201, Location)을 다시 돌려준다.
+     * 같은 key 로 동시에 들어온 요청은 하나만 저장하고 나머지는 그 응답을 받는다. 기다리는 시간 안에 끝나지 않으면 409 를 돌려준다.
+     */
     @PostMapping
-    public ResponseEntity createEvent(@RequestBody @Valid EventDto eventDto, Errors errors, @CurrentUser Account currentUser) {
+    public ResponseEntity createEvent(@RequestBody @Valid EventDto eventDto, Errors errors, @CurrentUser Account currentUser,
+                                      @RequestHeader(value = IdempotencyKeyStore.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createEvent(eventDto, errors, currentUser);
+        }
+        if (!IdempotencyKeyStore.isValidKey(idempotencyKey)) {
+            return globalError(HttpStatus.BAD_REQUEST, "idempotencyKey", "invalidIdempotencyKey",
+                    "Idempotency-Key must be 1 to " + IdempotencyKeyStore.MAX_KEY_LENGTH + " characters");
+        }
+        return this.idempotencyKeyStore.execute(currentUser.getId() + ":" + idempotencyKey, eventDto,
+                () -> createEvent(eventDto, errors, currentUser),
+                () -> globalError(HttpStatus.UNPROCESSABLE_ENTITY, "idempotencyKey", "idempotencyKeyReused",
+                        "Idempotency-Key was already used with a different request body"),
+                () -> globalError(HttpStatus.CONFLICT, "idempotencyKey", "idempotencyKeyInProgress",
+                        "A request with this Idempotency-Key is still in progress"));
+    }
+
+    private ResponseEntity<?> createEvent(EventDto eventDto, Errors errors, Account currentUser) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (errors.hasErrors()) {
@@ -61,50 +156,410 @@ public class EventController {
             return getErrorsResourceResponseEntity(errors);
         }
 
-        Event event = modelMapper.map(eventDto, Event.class);
+        Event event = this.eventMapper.toEvent(eventDto);
         event.update();
         event.setManager(currentUser);
-        Event newEvent = this.eventRepository.save(event);
-        LinkBuilder selftLinkBuilder = linkTo(EventController.class).slash(newEvent.getId());
-        URI createdUri = selftLinkBuilder.toUri();
+        Event newEvent = this.eventService.save(event);
+        EventLinks links = EventLinks.current();
+        URI createdUri = URI.create(links.eventHref(newEvent.getId()));
         EventResource eventResource = new EventResource(event);
-        eventResource.add(linkTo(EventController.class).withRel("query-events"));
-        eventResource.add(selftLinkBuilder.withRel("update-event"));
+        eventResource.add(links.events("query-events"));
+        eventResource.add(links.updateEvent(newEvent.getId()));
         eventResource.add(new Link("/docs/index.html#resources-events-create").withRel("profile"));
         return ResponseEntity.created(createdUri).body(eventResource);
     }
 
+    /**
+     * 여러 이벤트를 한번에 생성한다. 항목마다 검증해서 유효한 것만 청크 단위로 저장하고,
+     * 실패한 항목은 요청 배열의 index 와 함께 에러 목록으로 알려준다.
+     * 배열은 my-app.event-batch-max-items 건까지만 받고, 저장에 실패한 청크의 항목은 persistenceFailed 로 알리고 다음 청크를 계속 저장한다.
+     */
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity createEvents(HttpServletRequest request, @CurrentUser Account currentUser) throws IOException {
+        int maxItems = this.appProperties.getEventBatchMaxItems();
+        List<EventDto> eventDtos;
+        try {
+            eventDtos = readBatch(request.getInputStream(), maxItems);
+        } catch (JsonProcessingException e) {
+            return globalError(HttpStatus.BAD_REQUEST, "batch", "malformedBatch", e.getOriginalMessage());
+        }
+        if (eventDtos == null) {
+            return globalError(HttpStatus.BAD_REQUEST, "batch", "batchTooLarge",
+                    "A batch can contain at most " + maxItems + " events");
+        }
+        if (eventDtos.isEmpty()) {
+            return globalError(HttpStatus.BAD_REQUEST, "batch", "emptyBatch", "A batch must contain at least one event");
+        }
+
+        EventBatchResult batchResult = new EventBatchResult();
+        List<Integer> validIndexes = new ArrayList<>();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < eventDtos.size(); i++) {
+            EventDto eventDto = eventDtos.get(i);
+            Errors errors = this.eventService.validate(eventDto, "eventDto");
+            if (errors.hasErrors()) {
+                batchResult.addFailed(i, errors);
+                continue;
+            }
+            Event event = this.eventMapper.toEvent(eventDto);
+            event.update();
+            event.setManager(currentUser);
+            validIndexes.add(i);
+            events.add(event);
+        }
+
+        List<Event> savedEvents = this.eventService.createAll(events, (from, to, e) -> {
+            // 청크 단위로 롤백되므로 이 청크의 항목은 모두 실패로 알린다.
+            for (int i = from; i < to; i++) {
+                Errors errors = new BeanPropertyBindingResult(eventDtos.get(validIndexes.get(i)), "eventDto");
+                errors.reject("persistenceFailed", e.getMostSpecificCause().getMessage());
+                batchResult.addFailed(validIndexes.get(i), errors);
+            }
+        });
+        for (int i = 0; i < savedEvents.size(); i++) {
+            if (savedEvents.get(i) != null) {
+                batchResult.addCreated(validIndexes.get(i), savedEvents.get(i).getId());
+            }
+        }
+        batchResult.getResults().sort(Comparator.comparingInt(EventBatchResult.Item::getIndex));
+
+        EntityModel<EventBatchResult> batchModel = EntityModel.of(batchResult);
+        batchModel.add(EventLinks.current().events("query-events"));
+        batchModel.add(new Link("/docs/index.html#resources-events-batch").withRel("profile"));
+        return ResponseEntity.ok(batchModel);
+    }
+
+    /**
+     * 배열을 한 항목씩 읽는다. maxItems 를 넘으면 나머지 본문은 읽지 않고 null 을 돌려준다.
+     */
+    private List<EventDto> readBatch(InputStream in, int maxItems) throws IOException {
+        try (JsonParser parser = this.objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected a JSON array of events");
+            }
+            List<EventDto> eventDtos = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (eventDtos.size() == maxItems) {
+                    return null;
+                }
+                eventDtos.add(this.objectMapper.readValue(parser, EventDto.class));
+            }
+            return eventDtos;
+        }
+    }
+
+    /**
+     * 한 줄에 이벤트 하나씩 NDJSON 으로 받아서 청크 단위로 저장한다.
+     * 응답도 NDJSON 으로, 청크를 저장할 때마다 줄별 결과(line 과 id 또는 errors)를 내보내고 마지막 줄에 합계를 쓴다.
+     */
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importEvents(HttpServletRequest request, HttpServletResponse response,
+                             @CurrentUser Account currentUser) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        this.eventImporter.importNdjson(request.getInputStream(), currentUser, response.getOutputStream());
+    }
+
     @GetMapping
-    public ResponseEntity queryEvents(Pageable pageable,
+    public ResponseEntity queryEvents(EventSearchCondition condition,
+                                      Pageable pageable,
                                       PagedResourcesAssembler<Event> assembler,
-                                      @CurrentUser Account account) {
-        Page<Event> page = this.eventRepository.findAll(pageable);
+                                      @CurrentUser Account account,
+                                      WebRequest webRequest) {
+        // 테이블 전체의 마지막 수정 시각 기준이라 필터 / 페이지와 상관없이 변경이 없을 때만 304 가 나간다.
+        Instant lastModified = this.eventRepository.findLastModified();
+        if (lastModified != null && webRequest.checkNotModified(lastModified.toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).lastModified(lastModified).build();
+        }
+
+        Page<Event> page = this.eventRepository.findAll(EventSpecs.of(condition), pageable);
         var pagedModels = assembler.toModel(page, e -> new EventResource(e));
         pagedModels.add(new Link("/docs/index.html#resources-events-list").withRel("profile"));
         if (account != null) {
-            pagedModels.add(linkTo(EventController.class).withRel("create-event"));
+            pagedModels.add(EventLinks.current().events("create-event"));
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.AUTHORIZATION);
+        if (lastModified != null) {
+            response.lastModified(lastModified);
+        }
+        return response.body(pagedModels);
+    }
+
+    /**
+     * name / description 에 q 의 단어가 들어간 이벤트를 관련도 순으로 조회한다. 페이지 형식은 queryEvents 와 같고 sort 는 무시한다.
+     */
+    @GetMapping("/search")
+    public ResponseEntity searchEvents(@RequestParam String q,
+                                       Pageable pageable,
+                                       PagedResourcesAssembler<Event> assembler,
+                                       @CurrentUser Account account) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<Integer> ranked = this.eventSearchIndex.search(q);
+        Page<Event> page = loadPage(ranked, pageable, this.eventSearchIndex::remove);
+        var pagedModels = assembler.toModel(page, e -> new EventResource(e));
+        pagedModels.add(new Link("/docs/index.html#resources-events-search").withRel("profile"));
+        if (account != null) {
+            pagedModels.add(EventLinks.current().events("create-event"));
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.AUTHORIZATION).body(pagedModels);
+    }
+
+    /**
+     * at(기본값 현재 시각)에 모집 중인 이벤트를 모집 시작 순으로 조회한다. 페이지 형식은 queryEvents 와 같고 sort 는 무시한다.
+     */
+    @GetMapping("/enrollment-open")
+    public ResponseEntity queryEnrollmentOpenEvents(@RequestParam(required = false)
+                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+                                                    Pageable pageable,
+                                                    PagedResourcesAssembler<Event> assembler,
+                                                    @CurrentUser Account account) {
+        List<Integer> ids = this.eventIntervalIndex.enrollmentOpenAt(at != null ? at : LocalDateTime.now());
+        Page<Event> page = loadPage(ids, pageable, this.eventIntervalIndex::remove);
+        var pagedModels = assembler.toModel(page, e -> new EventResource(e));
+        pagedModels.add(new Link("/docs/index.html#resources-events-enrollment-open").withRel("profile"));
+        if (account != null) {
+            pagedModels.add(EventLinks.current().events("create-event"));
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.AUTHORIZATION).body(pagedModels);
+    }
+
+    /**
+     * 진행 기간이 [from, to] 와 겹치는 이벤트를 진행 시작 순으로 조회한다. 페이지 형식은 queryEvents 와 같고 sort 는 무시한다.
+     */
+    @GetMapping("/during")
+    public ResponseEntity queryEventsDuring(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                            Pageable pageable,
+                                            PagedResourcesAssembler<Event> assembler,
+                                            @CurrentUser Account account) {
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<Integer> ids = this.eventIntervalIndex.happeningDuring(from, to);
+        Page<Event> page = loadPage(ids, pageable, this.eventIntervalIndex::remove);
+        var pagedModels = assembler.toModel(page, e -> new EventResource(e));
+        pagedModels.add(new Link("/docs/index.html#resources-events-during").withRel("profile"));
+        if (account != null) {
+            pagedModels.add(EventLinks.current().events("create-event"));
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.AUTHORIZATION).body(pagedModels);
+    }
+
+    /**
+     * 상태 / 유료 여부 / 오프라인 여부 / manager 별 이벤트 수. 저장할 때 갱신하는 카운터를 읽기만 하므로 이벤트 수와 상관없이 일정한 비용이다.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity getEventStats() {
+        EntityModel<EventStats> statsModel = EntityModel.of(this.eventStatsCounter.snapshot());
+        EventLinks links = EventLinks.current();
+        statsModel.add(Link.of(links.eventsHref() + "/stats").withSelfRel());
+        statsModel.add(links.events("query-events"));
+        statsModel.add(new Link("/docs/index.html#resources-events-stats").withRel("profile"));
+        return ResponseEntity.ok(statsModel);
+    }
+
+    /**
+     * 이벤트 생성 / 수정을 SSE 로 흘려보낸다. 다시 연결할 때 Last-Event-ID 를 보내면 그 다음 변경부터 받는다.
+     */
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return this.eventChangeFeed.subscribe(lastEventId, EventLinks.current());
+    }
+
+    /**
+     * 인덱스가 정한 순서의 id 목록에서 pageable 에 해당하는 부분만 DB 에서 읽어서 같은 순서로 돌려준다.
+     * 인덱스 밖에서 지워진 이벤트는 결과에서 빠지고 onMissing 으로 인덱스에서도 뺀다.
+     */
+    private Page<Event> loadPage(List<Integer> ids, Pageable pageable, Consumer<Integer> onMissing) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        List<Integer> pageIds = ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size()));
+
+        Map<Integer, Event> found = this.eventRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        List<Event> content = new ArrayList<>(pageIds.size());
+        for (Integer id : pageIds) {
+            Event event = found.get(id);
+            if (event != null) {
+                content.add(event);
+            } else {
+                onMissing.accept(id);
+            }
+        }
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
+    /**
+     * 조건에 맞는 이벤트 전체를 페이지 / HAL 없이 한 줄에 하나씩 스트리밍한다. format 은 ndjson(기본) 또는 csv 이고,
+     * format 이 없으면 Accept 헤더로 고른다. 클래스의 HAL produces 를 덮어써야 Accept 를 보낸 클라이언트가 406 을 받지 않는다.
+     * 응답은 요청 스레드가 아닌 비동기 스레드에서 DB 커서를 읽으면서 바로 써 내려간다.
+     */
+    @GetMapping(path = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<StreamingResponseBody> exportEvents(EventSearchCondition condition,
+                                                              @RequestParam(required = false) String format,
+                                                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (format == null) {
+            format = exportFormat(accept);
+        }
+        if (format.equalsIgnoreCase("csv")) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType(TEXT_CSV, StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"events.csv\"")
+                    .body(out -> this.eventExporter.writeCsv(condition, out));
+        }
+        if (format.equalsIgnoreCase("ndjson")) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"events.ndjson\"")
+                    .body(out -> this.eventExporter.writeNdjson(condition, out));
+        }
+        return ResponseEntity.badRequest().build();
+    }
+
+    // Accept 에서 우선순위가 가장 높은 타입을 따른다. */* 처럼 둘 다 되면 ndjson
+    private static String exportFormat(String accept) {
+        if (accept == null) {
+            return "ndjson";
+        }
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+                return "ndjson";
+            }
+            if (mediaType.isCompatibleWith(TEXT_CSV)) {
+                return "csv";
+            }
+        }
+        return "ndjson";
+    }
+
+    /**
+     * count=false 를 붙이면 전체 개수를 세지 않는 Slice 로 조회한다. next / prev 링크만 제공하고 totalElements / totalPages 는 없다.
+     * 필터 조건은 queryEvents 와 같다. cursor 와 같이 오면 커서 조회가 처리한다 (커서 조회도 개수를 세지 않는다).
+     */
+    @GetMapping(params = {"count=false", "!cursor"})
+    public ResponseEntity queryEventsWithoutCount(EventSearchCondition condition, Pageable pageable, @CurrentUser Account account) {
+        Slice<Event> slice = this.eventRepository.findSlice(EventSpecs.of(condition), pageable);
+        List<EventResource> resources = slice.getContent().stream().map(EventResource::new).collect(Collectors.toList());
+        SlicedModel<EventResource> slicedModel = new SlicedModel<>(resources, slice);
+        slicedModel.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+        if (slice.hasNext()) {
+            slicedModel.add(pageLink(slice.nextPageable(), IanaLinkRelations.NEXT));
+        }
+        if (slice.hasPrevious()) {
+            slicedModel.add(pageLink(slice.previousPageable(), IanaLinkRelations.PREV));
+        }
+        slicedModel.add(new Link("/docs/index.html#resources-events-list").withRel("profile"));
+        if (account != null) {
+            slicedModel.add(EventLinks.current().events("create-event"));
         }
-        return ResponseEntity.ok(pagedModels);
+        return ResponseEntity.ok(slicedModel);
+    }
+
+    private Link pageLink(Pageable pageable, LinkRelation rel) {
+        String href = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("page", pageable.getPageNumber())
+                .toUriString();
+        return Link.of(href, rel);
+    }
+
+    /**
+     * (beginEventDateTime, id) 기준 keyset 페이징. offset 과 count 쿼리 없이 next / prev 커서 링크로 전체를 순회한다.
+     * 빈 cursor 파라미터(?cursor=)는 첫 페이지를 의미한다. 필터 조건은 queryEvents 와 같고 keyset 조건과 함께 적용한다.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity queryEventsByCursor(@RequestParam String cursor,
+                                              EventSearchCondition condition,
+                                              Pageable pageable,
+                                              @CurrentUser Account account) {
+        int size = pageable.getPageSize();
+
+        EventCursor eventCursor = null;
+        if (!cursor.isEmpty()) {
+            try {
+                eventCursor = EventCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        boolean backward = eventCursor != null && eventCursor.getDirection() == EventCursor.Direction.PREV;
+        Specification<Event> spec = EventSpecs.of(condition);
+        if (eventCursor != null) {
+            spec = spec.and(backward
+                    ? EventSpecs.before(eventCursor.getBeginEventDateTime(), eventCursor.getId())
+                    : EventSpecs.after(eventCursor.getBeginEventDateTime(), eventCursor.getId()));
+        }
+        Sort.Direction direction = backward ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Slice<Event> slice = this.eventRepository.findSlice(spec,
+                PageRequest.of(0, size, Sort.by(direction, "beginEventDateTime", "id")));
+
+        List<Event> events = slice.getContent();
+        boolean hasMore = slice.hasNext();
+        if (backward) {
+            events = new ArrayList<>(events);
+            Collections.reverse(events);
+        }
+        boolean hasNext = backward || hasMore;
+        boolean hasPrev = backward ? hasMore : eventCursor != null;
+
+        List<EventResource> resources = events.stream().map(EventResource::new).collect(Collectors.toList());
+        CollectionModel<EventResource> model = CollectionModel.of(resources);
+        model.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+        if (!events.isEmpty() && hasNext) {
+            model.add(cursorLink(EventCursor.next(events.get(events.size() - 1)), IanaLinkRelations.NEXT));
+        }
+        if (!events.isEmpty() && hasPrev) {
+            model.add(cursorLink(EventCursor.prev(events.get(0)), IanaLinkRelations.PREV));
+        }
+        model.add(new Link("/docs/index.html#resources-events-list").withRel("profile"));
+        if (account != null) {
+            model.add(EventLinks.current().events("create-event"));
+        }
+        return ResponseEntity.ok(model);
+    }
+
+    private Link cursorLink(EventCursor cursor, LinkRelation rel) {
+        String href = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", cursor.encode())
+                .replaceQueryParam("page")
+                .replaceQueryParam("sort")
+                .toUriString();
+        return Link.of(href, rel);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity getEvent(@PathVariable Integer id, @CurrentUser CurrentUser currentUser) {
-        Optional<Event> optionalEvent = this.eventRepository.findById(id);
+    public ResponseEntity getEvent(@PathVariable Integer id, @CurrentUser Account currentUser, WebRequest webRequest) {
+        Optional<Event> optionalEvent = this.eventService.findById(id);
         if (optionalEvent.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
         Event event = optionalEvent.get();
+        boolean managedByCurrentUser = event.isManagedBy(currentUser);
+        String eTag = eTagOf(event, managedByCurrentUser);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
         EventResource eventResource = new EventResource(event);
         eventResource.add(new Link("/docs/index.html#resources-events-get").withRel("profile"));
-        if (event.getManager().equals(currentUser)) {
-            eventResource.add(linkTo(EventController.class).slash(event.getId()).withRel("update-event"));
+        if (managedByCurrentUser) {
+            eventResource.add(EventLinks.current().updateEvent(event.getId()));
         }
-        return ResponseEntity.ok(eventResource);
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.AUTHORIZATION).body(eventResource);
+    }
+
+    // 매니저에게는 update-event 링크가 더 붙으므로 표현이 달라지는 만큼 ETag 도 구분한다.
+    private String eTagOf(Event event, boolean managedByCurrentUser) {
+        return "\"" + event.getVersion() + (managedByCurrentUser ? "-m" : "") + "\"";
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity updateEvent(@PathVariable Integer id, @RequestBody @Valid EventDto eventDto, Errors errors, @CurrentUser CurrentUser currentUser) {
+    public ResponseEntity updateEvent(@PathVariable Integer id, @RequestBody @Valid EventDto eventDto, Errors errors, @CurrentUser Account currentUser) {
         Optional<Event> optionalEvent = this.eventRepository.findById(id);
         if (optionalEvent.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -118,20 +573,141 @@ public class EventController {
         if (errors.hasErrors()) {
             return getErrorsResourceResponseEntity(errors);
         }
-        Account acc = new Account();
-
         Event existingEvent = optionalEvent.get();
-        if (existingEvent.getManager().equals(currentUser)) {
+        if (!existingEvent.isManagedBy(currentUser)) {
             return new ResponseEntity(HttpStatus.UNAUTHORIZED);
         }
 
-        this.modelMapper.map(eventDto, existingEvent);
-        Event savedEvent = this.eventRepository.save(existingEvent);
+        this.eventMapper.update(eventDto, existingEvent);
+        Event savedEvent = this.eventService.save(existingEvent);
 
         EventResource eventResource = new EventResource(savedEvent);
         eventResource.add(new Link("/docs/index.html#resources-events-update").withRel("profile"));
 
-        return ResponseEntity.ok(eventResource);
+        return ResponseEntity.ok().eTag(eTagOf(savedEvent, true)).body(eventResource);
+    }
+
+    /**
+     * JSON Merge Patch (RFC 7386) 로 일부 필드만 수정한다.
+     * If-Match 에 GET 으로 받은 ETag 를 보내야 하고, 그 사이 다른 수정이 있었으면 412 를 돌려준다.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity patchEvent(@PathVariable Integer id,
+                                     @RequestBody JsonNode patch,
+                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                     @CurrentUser Account currentUser) {
+        Optional<Event> optionalEvent = this.eventRepository.findById(id);
+        if (optionalEvent.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Event existingEvent = optionalEvent.get();
+        if (!existingEvent.isManagedBy(currentUser)) {
+            return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+        }
+        if (ifMatch == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+        if (!matchesVersion(ifMatch, existingEvent.getVersion())) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(eTagOf(existingEvent, true)).build();
+        }
+        if (!patch.isObject()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        EventDto eventDto = this.eventMapper.toDto(existingEvent);
+        try {
+            // merge patch 의 null 은 필드를 지운다는 뜻인데 int 필드는 지울 수 없으므로 0 으로 바꾸지 않고 400 으로 거절한다
+            this.objectMapper.readerForUpdating(eventDto)
+                    .with(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES)
+                    .readValue(patch);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Errors errors = this.eventService.validate(eventDto, "eventDto");
+        if (errors.hasErrors()) {
+            return getErrorsResourceResponseEntity(errors);
+        }
+
+        this.eventMapper.update(eventDto, existingEvent);
+        existingEvent.update();
+        Event savedEvent;
+        try {
+            savedEvent = this.eventService.save(existingEvent);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
+        EventResource eventResource = new EventResource(savedEvent);
+        eventResource.add(EventLinks.current().updateEvent(savedEvent.getId()));
+        eventResource.add(new Link("/docs/index.html#resources-events-patch").withRel("profile"));
+        return ResponseEntity.ok().eTag(eTagOf(savedEvent, true)).body(eventResource);
+    }
+
+    // If-Match 는 여러 ETag 또는 * 일 수 있고, 매니저용 ETag("3-m") 와 일반 ETag("3") 모두 같은 버전으로 본다.
+    // If-Match 는 강한 비교(RFC 7232)라서 약한 ETag(W/"3")는 버전이 같아도 맞지 않는 것으로 본다.
+    private boolean matchesVersion(String ifMatch, Integer version) {
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+                continue;
+            }
+            value = value.substring(1, value.length() - 1);
+            if (value.endsWith("-m")) {
+                value = value.substring(0, value.length() - 2);
+            }
+            if (value.equals(String.valueOf(version))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 현재 사용자로 참가 신청한다. 모집 기간이 아니면 400, 모집 중인 상태가 아니거나 매진이거나 이미 신청했으면 409 에 errors 의 code 로 구분한다.
+     */
+    @PostMapping("/{id}/enrollments")
+    public ResponseEntity enroll(@PathVariable Integer id, @CurrentUser Account currentUser) {
+        switch (this.enrollmentService.enroll(id, currentUser)) {
+            case NOT_FOUND:
+                return ResponseEntity.notFound().build();
+            case NOT_OPEN:
+                return globalError(HttpStatus.BAD_REQUEST, "enrollment", "enrollmentNotOpen", "Enrollment is not open");
+            case NOT_ENROLLING:
+                return globalError(HttpStatus.CONFLICT, "enrollment", "notEnrolling", "Event is not in BEGAN_ENROLLMENT status");
+            case SOLD_OUT:
+                return globalError(HttpStatus.CONFLICT, "enrollment", "soldOut", "No seats left");
+            case ALREADY_ENROLLED:
+                return globalError(HttpStatus.CONFLICT, "enrollment", "alreadyEnrolled", "Already enrolled");
+            default:
+                break;
+        }
+
+        EventLinks links = EventLinks.current();
+        String enrollmentsHref = links.eventHref(id) + "/enrollments";
+        RepresentationModel<?> enrollmentModel = new RepresentationModel<>();
+        enrollmentModel.add(Link.of(links.eventHref(id)).withRel("event"));
+        enrollmentModel.add(Link.of(enrollmentsHref).withRel("cancel-enrollment"));
+        enrollmentModel.add(new Link("/docs/index.html#resources-events-enroll").withRel("profile"));
+        return ResponseEntity.created(URI.create(enrollmentsHref)).body(enrollmentModel);
+    }
+
+    @DeleteMapping("/{id}/enrollments")
+    public ResponseEntity cancelEnrollment(@PathVariable Integer id, @CurrentUser Account currentUser) {
+        if (this.enrollmentService.cancel(id, currentUser) == EnrollmentService.Result.NOT_ENROLLED) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity globalError(HttpStatus status, String objectName, String code, String message) {
+        Errors errors = new MapBindingResult(new HashMap<>(), objectName);
+        errors.reject(code, message);
+        return ResponseEntity.status(status).body(ErrorsResource.modelOf(errors));
     }
 
     private ResponseEntity getErrorsResourceResponseEntity(Errors errors) {
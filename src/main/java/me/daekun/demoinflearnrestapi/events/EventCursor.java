@@ -0,0 +1,58 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * (beginEventDateTime, id) 를 키로 하는 keyset 페이지 커서.
+ * 클라이언트에게는 base64url 로 인코딩된 불투명한 문자열로만 노출한다.
+ */
+@Getter
+public class EventCursor {
+
+    public enum Direction { NEXT, PREV }
+
+    private final Direction direction;
+    private final LocalDateTime beginEventDateTime;
+    private final Integer id;
+
+    public EventCursor(Direction direction, LocalDateTime beginEventDateTime, Integer id) {
+        this.direction = direction;
+        this.beginEventDateTime = beginEventDateTime;
+        this.id = id;
+    }
+
+    public static EventCursor next(Event event) {
+        return new EventCursor(Direction.NEXT, event.getBeginEventDateTime(), event.getId());
+    }
+
+    public static EventCursor prev(Event event) {
+        return new EventCursor(Direction.PREV, event.getBeginEventDateTime(), event.getId());
+    }
+
+    public String encode() {
+        String raw = (direction == Direction.NEXT ? "n" : "p") + "|" + beginEventDateTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    public static EventCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !(parts[0].equals("n") || parts[0].equals("p"))) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            Direction direction = parts[0].equals("n") ? Direction.NEXT : Direction.PREV;
+            return new EventCursor(direction, LocalDateTime.parse(parts[1]), Integer.valueOf(parts[2]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 이벤트 전체(또는 조건에 맞는 이벤트)를 한 줄에 하나씩 NDJSON / CSV 로 내보낸다.
+ * 한 건씩 읽고 바로 쓰므로 메모리 사용량은 건수와 상관없이 일정하다.
+ */
+@Component
+public class EventExporter {
+
+    static final String[] CSV_HEADER = {
+            "id", "name", "description", "beginEnrollmentDateTime", "closeEnrollmentDateTime",
+            "beginEventDateTime", "endEventDateTime", "location", "basePrice", "maxPrice",
+            "limitOfEnrollment", "offline", "free", "eventStatus", "managerId"
+    };
+
+    private final EventService eventService;
+    private final ObjectWriter eventWriter;
+
+    public EventExporter(EventService eventService, ObjectMapper objectMapper) {
+        this.eventService = eventService;
+        // 건마다 flush 하지 않고 응답 버퍼가 찰 때 내보낸다
+        this.eventWriter = objectMapper.writerFor(Event.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public void writeNdjson(EventSearchCondition condition, OutputStream out) throws IOException {
+        try (JsonGenerator generator = this.eventWriter.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            this.eventService.forEachEvent(EventSpecs.of(condition), event -> {
+                try {
+                    this.eventWriter.writeValue(generator, event);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void writeCsv(EventSearchCondition condition, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            writeCsvLine(writer, (Object[]) CSV_HEADER);
+            this.eventService.forEachEvent(EventSpecs.of(condition), event -> {
+                try {
+                    writeCsvLine(writer,
+                            event.getId(), event.getName(), event.getDescription(),
+                            event.getBeginEnrollmentDateTime(), event.getCloseEnrollmentDateTime(),
+                            event.getBeginEventDateTime(), event.getEndEventDateTime(), event.getLocation(),
+                            event.getBasePrice(), event.getMaxPrice(), event.getLimitOfEnrollment(),
+                            event.isOffline(), event.isFree(), event.getEventStatus(),
+                            // 프록시의 id 는 초기화 없이 꺼낼 수 있으므로 매니저 조회 쿼리는 나가지 않는다.
+                            event.getManager() == null ? null : event.getManager().getId());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static void writeCsvLine(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvValue(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180 - 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두번 쓴다.
+    private static String csvValue(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
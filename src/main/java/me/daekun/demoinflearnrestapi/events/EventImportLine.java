@@ -0,0 +1,31 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.Getter;
+import org.springframework.validation.Errors;
+
+// POST /api/events/import 응답의 한 줄. 요청의 줄 번호와 생성된 id 또는 에러 목록을 담는다.
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventImportLine {
+
+    private final int line;
+    private final Integer id;
+    @JsonUnwrapped // ErrorsSerializer 가 "errors" 필드를 직접 쓴다
+    private final Errors errors;
+
+    private EventImportLine(int line, Integer id, Errors errors) {
+        this.line = line;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static EventImportLine created(int line, Integer id) {
+        return new EventImportLine(line, id, null);
+    }
+
+    public static EventImportLine failed(int line, Errors errors) {
+        return new EventImportLine(line, null, errors);
+    }
+}
@@ -0,0 +1,179 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import me.daekun.demoinflearnrestapi.accounts.Account;
+import me.daekun.demoinflearnrestapi.common.AppProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * NDJSON 으로 들어온 이벤트를 한 건씩 읽어서 검증하고, my-app.event-batch-size 건마다 별도의 트랜잭션으로 저장한다.
+ * 청크를 저장할 때마다 그 청크의 줄별 결과를 바로 응답에 써서 내보내므로 요청 / 응답 크기와 상관없이 청크 하나만 메모리에 둔다.
+ */
+@Component
+public class EventImporter {
+
+    private final EventService eventService;
+    private final EventMapper eventMapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lineWriter;
+    private final AppProperties appProperties;
+
+    public EventImporter(EventService eventService, EventMapper eventMapper, ObjectMapper objectMapper,
+                         AppProperties appProperties) {
+        this.eventService = eventService;
+        this.eventMapper = eventMapper;
+        this.objectMapper = objectMapper;
+        this.lineWriter = objectMapper.writerFor(EventImportLine.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.appProperties = appProperties;
+    }
+
+    public void importNdjson(InputStream in, Account manager, OutputStream out) throws IOException {
+        int chunkSize = this.appProperties.getEventBatchSize();
+        Chunk chunk = new Chunk();
+        boolean completed = true;
+
+        try (JsonParser parser = this.objectMapper.getFactory().createParser(in);
+             JsonGenerator generator = this.objectMapper.getFactory().createGenerator(out)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            while (true) {
+                int line;
+                JsonNode node;
+                try {
+                    if (parser.nextToken() == null) {
+                        break;
+                    }
+                    line = parser.getTokenLocation().getLineNr();
+                    node = parser.readValueAsTree();
+                } catch (JsonProcessingException e) {
+                    // 문법이 깨지면 다음 레코드의 시작을 알 수 없으므로 여기서 멈춘다. 앞에서 읽은 청크는 저장한다.
+                    chunk.failed(e.getLocation() == null ? -1 : e.getLocation().getLineNr(),
+                            rejected("malformedJson", e.getOriginalMessage()));
+                    completed = false;
+                    break;
+                }
+
+                read(line, node, manager, chunk);
+                if (chunk.size() >= chunkSize) {
+                    commit(chunk, generator);
+                }
+            }
+            commit(chunk, generator);
+
+            generator.writeStartObject();
+            generator.writeNumberField("created", chunk.created);
+            generator.writeNumberField("failed", chunk.failed);
+            generator.writeBooleanField("completed", completed);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+    }
+
+    private void read(int line, JsonNode node, Account manager, Chunk chunk) {
+        if (!node.isObject()) {
+            chunk.failed(line, rejected("notAnObject", "Each line must be a JSON object"));
+            return;
+        }
+
+        EventDto eventDto;
+        try {
+            eventDto = this.objectMapper.treeToValue(node, EventDto.class);
+        } catch (JsonProcessingException e) {
+            chunk.failed(line, rejected("invalidValue", e.getOriginalMessage()));
+            return;
+        }
+
+        Errors errors = this.eventService.validate(eventDto, "eventDto");
+        if (errors.hasErrors()) {
+            chunk.failed(line, errors);
+            return;
+        }
+
+        Event event = this.eventMapper.toEvent(eventDto);
+        event.update();
+        event.setManager(manager);
+        chunk.valid(line, event);
+    }
+
+    private void commit(Chunk chunk, JsonGenerator generator) throws IOException {
+        List<Pending> valid = chunk.pending.stream().filter(p -> p.event != null).collect(Collectors.toList());
+        if (!valid.isEmpty()) {
+            try {
+                List<Event> saved = this.eventService.createAll(valid.stream().map(p -> p.event).collect(Collectors.toList()));
+                for (int i = 0; i < valid.size(); i++) {
+                    valid.get(i).id = saved.get(i).getId();
+                }
+            } catch (DataAccessException e) {
+                // 청크 단위로 롤백되므로 이 청크의 유효한 레코드는 모두 실패로 알린다.
+                valid.forEach(p -> p.errors = rejected("persistenceFailed", e.getMostSpecificCause().getMessage()));
+            }
+        }
+
+        for (Pending pending : chunk.pending) {
+            if (pending.id != null) {
+                chunk.created++;
+                this.lineWriter.writeValue(generator, EventImportLine.created(pending.line, pending.id));
+            } else {
+                chunk.failed++;
+                this.lineWriter.writeValue(generator, EventImportLine.failed(pending.line, pending.errors));
+            }
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        chunk.pending.clear();
+    }
+
+    private static Errors rejected(String code, String message) {
+        Errors errors = new BeanPropertyBindingResult(new EventDto(), "eventDto");
+        errors.reject(code, message);
+        return errors;
+    }
+
+    private static class Chunk {
+        private final List<Pending> pending = new ArrayList<>();
+        private int created;
+        private int failed;
+
+        void valid(int line, Event event) {
+            Pending p = new Pending(line);
+            p.event = event;
+            this.pending.add(p);
+        }
+
+        void failed(int line, Errors errors) {
+            Pending p = new Pending(line);
+            p.errors = errors;
+            this.pending.add(p);
+        }
+
+        int size() {
+            return this.pending.size();
+        }
+    }
+
+    private static class Pending {
+        private final int line;
+        private Event event;
+        private Errors errors;
+        private Integer id;
+
+        Pending(int line) {
+            this.line = line;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import me.daekun.demoinflearnrestapi.common.IntervalTree;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 모집 기간(beginEnrollment ~ closeEnrollment)과 진행 기간(beginEvent ~ endEvent)에 대한 프로세스 내 interval tree.
+ * EventSearchIndex 와 같이 저장될 때마다(EventSaved) 해당 이벤트만 다시 넣고, 시작할 때 전체를 다시 만든다.
+ * 조회는 읽기 락을 나눠 쓰고 추가 / 삭제만 쓰기 락을 잡는다. 구간은 양 끝을 포함하고 밀리초 단위로 비교한다.
+ */
+@Component
+public class EventIntervalIndex {
+
+    private final EventService eventService;
+
+    private final IntervalTree enrollment = new IntervalTree();
+    private final IntervalTree schedule = new IntervalTree();
+    // eventId -> {모집 시작, 진행 시작} - 다시 넣을 때 이전 노드를 찾기 위해
+    private final Map<Integer, long[]> starts = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public EventIntervalIndex(EventService eventService) {
+        this.eventService = eventService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        clear();
+        this.eventService.forEachEvent((root, query, cb) -> null, this::index);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventSaved(EventSaved eventSaved) {
+        index(eventSaved.getEvent());
+    }
+
+    public void index(Event event) {
+        this.lock.writeLock().lock();
+        try {
+            removeLocked(event.getId());
+            long[] eventStarts = {Long.MIN_VALUE, Long.MIN_VALUE};
+            if (isInterval(event.getBeginEnrollmentDateTime(), event.getCloseEnrollmentDateTime())) {
+                eventStarts[0] = toMillis(event.getBeginEnrollmentDateTime());
+                this.enrollment.insert(eventStarts[0], toMillis(event.getCloseEnrollmentDateTime()), event.getId());
+            }
+            if (isInterval(event.getBeginEventDateTime(), event.getEndEventDateTime())) {
+                eventStarts[1] = toMillis(event.getBeginEventDateTime());
+                this.schedule.insert(eventStarts[1], toMillis(event.getEndEventDateTime()), event.getId());
+            }
+            this.starts.put(event.getId(), eventStarts);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer eventId) {
+        this.lock.writeLock().lock();
+        try {
+            removeLocked(eventId);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            this.enrollment.clear();
+            this.schedule.clear();
+            this.starts.clear();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * at 시점에 모집 중인 이벤트 id 를 모집 시작 순(같으면 id 순)으로 돌려준다.
+     */
+    public List<Integer> enrollmentOpenAt(LocalDateTime at) {
+        List<Integer> ids = new ArrayList<>();
+        this.lock.readLock().lock();
+        try {
+            this.enrollment.stab(toMillis(at), ids::add);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    /**
+     * [from, to] 와 진행 기간이 겹치는 이벤트 id 를 진행 시작 순(같으면 id 순)으로 돌려준다.
+     */
+    public List<Integer> happeningDuring(LocalDateTime from, LocalDateTime to) {
+        List<Integer> ids = new ArrayList<>();
+        this.lock.readLock().lock();
+        try {
+            this.schedule.overlap(toMillis(from), toMillis(to), ids::add);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    private void removeLocked(Integer eventId) {
+        long[] eventStarts = this.starts.remove(eventId);
+        if (eventStarts == null) {
+            return;
+        }
+        if (eventStarts[0] != Long.MIN_VALUE) {
+            this.enrollment.remove(eventStarts[0], eventId);
+        }
+        if (eventStarts[1] != Long.MIN_VALUE) {
+            this.schedule.remove(eventStarts[1], eventId);
+        }
+    }
+
+    // 날짜가 비었거나 거꾸로 된 구간은 색인하지 않는다 (EventValidator 를 거치지 않은 데이터)
+    private static boolean isInterval(LocalDateTime start, LocalDateTime end) {
+        return start != null && end != null && !start.isAfter(end);
+    }
+
+    static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,192 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import me.daekun.demoinflearnrestapi.common.AppProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * beginEnrollmentDateTime 이 지난 PUBLISHED 이벤트를 BEGAN_ENROLLMENT 로 바꾸는 프로세스 내 스케줄러.
+ * 앞으로 my-app.event-lifecycle-horizon 안에 시작할 전이만 시각 순 PriorityQueue 에 들고 있다가, tick 마다 시각이 지난 것을
+ * 모아서 my-app.event-batch-size 건씩 update 한 문장으로 바꾼다 (EventService.beginEnrollment).
+ * 시작할 때와 horizon 의 절반마다 DB 에서 시각이 지난 이벤트를 모두 바꾸고(catch-up) 큐를 다시 채우므로,
+ * 내려가 있던 동안 밀린 전이나 API 밖에서 바뀐 행도 처리된다. 여러 노드에서 돌아도 update 가 조건을 다시 확인하므로 한 번만 바뀐다.
+ */
+@Component
+public class EventLifecycleScheduler {
+
+    private final EventService eventService;
+    private final EventRepository eventRepository;
+    private final AppProperties appProperties;
+
+    private final PriorityQueue<Transition> queue =
+            new PriorityQueue<>(Comparator.comparing((Transition t) -> t.dueAt).thenComparing(t -> t.eventId));
+    // eventId -> 큐에 넣은 가장 최근 시각. 다르면 큐의 항목은 지난 것이므로 버린다.
+    private final Map<Integer, LocalDateTime> scheduled = new HashMap<>();
+    private LocalDateTime loadedUntil;
+    private LocalDateTime nextRefillAt;
+    // refill 이 DB 를 읽는 동안 저장된 이벤트 - 큐를 다시 채운 뒤에 다시 반영한다
+    private Map<Integer, Event> savedWhileRefilling;
+
+    public EventLifecycleScheduler(EventService eventService, EventRepository eventRepository, AppProperties appProperties) {
+        this.eventService = eventService;
+        this.eventRepository = eventRepository;
+        this.appProperties = appProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (this.appProperties.isEventLifecycleScheduler()) {
+            refill(LocalDateTime.now());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${my-app.event-lifecycle-tick:PT1S}")
+    public void tick() {
+        if (this.appProperties.isEventLifecycleScheduler()) {
+            tick(LocalDateTime.now());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventSaved(EventSaved eventSaved) {
+        Event event = eventSaved.getEvent();
+        // 꺼져 있으면 큐를 비우는 tick 이 돌지 않으므로 쌓아 두지 않는다
+        if (!this.appProperties.isEventLifecycleScheduler()) {
+            return;
+        }
+        synchronized (this) {
+            if (this.savedWhileRefilling != null) {
+                this.savedWhileRefilling.put(event.getId(), event);
+            }
+            apply(event);
+        }
+    }
+
+    /**
+     * now 까지 시각이 지난 전이를 처리한다. refill 할 때가 됐으면 catch-up 과 큐 채우기를 먼저 한다.
+     *
+     * @return 바뀐 이벤트 수
+     */
+    public int tick(LocalDateTime now) {
+        if (this.nextRefillAt == null || !now.isBefore(this.nextRefillAt)) {
+            return refill(now);
+        }
+
+        Set<Integer> due = new LinkedHashSet<>();
+        synchronized (this) {
+            while (!this.queue.isEmpty() && !this.queue.peek().dueAt.isAfter(now)) {
+                Transition transition = this.queue.poll();
+                if (transition.dueAt.equals(this.scheduled.get(transition.eventId))) {
+                    this.scheduled.remove(transition.eventId);
+                    due.add(transition.eventId);
+                }
+            }
+        }
+        return transition(new ArrayList<>(due), now);
+    }
+
+    /**
+     * DB 에서 시각이 지난 PUBLISHED 이벤트를 모두 바꾸고, (now, now + horizon] 에 시작할 전이로 큐를 다시 채운다.
+     *
+     * @return catch-up 으로 바뀐 이벤트 수
+     */
+    public int refill(LocalDateTime now) {
+        synchronized (this) {
+            this.savedWhileRefilling = new LinkedHashMap<>();
+        }
+        int updated;
+        LocalDateTime until = now.plus(this.appProperties.getEventLifecycleHorizon());
+        List<EventRepository.EnrollmentSchedule> upcoming;
+        try {
+            updated = catchUp(now);
+            upcoming = this.eventRepository.findEnrollmentSchedules(EventStatus.PUBLISHED, now, until);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                this.savedWhileRefilling = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            Map<Integer, Event> saved = this.savedWhileRefilling;
+            this.savedWhileRefilling = null;
+            this.queue.clear();
+            this.scheduled.clear();
+            upcoming.forEach(s -> schedule(s.getId(), s.getBeginEnrollmentDateTime()));
+            this.loadedUntil = until;
+            this.nextRefillAt = now.plus(this.appProperties.getEventLifecycleHorizon().dividedBy(2));
+            // 읽은 값보다 늦게 커밋됐을 수 있으므로 그 사이에 저장된 이벤트를 다시 반영한다
+            saved.values().forEach(this::apply);
+        }
+        return updated;
+    }
+
+    private int catchUp(LocalDateTime now) {
+        int batchSize = this.appProperties.getEventBatchSize();
+        int updated = 0;
+        while (true) {
+            // 바뀐 이벤트는 조건에서 빠지므로 항상 첫 페이지를 읽는다
+            List<Integer> ids = this.eventRepository.findIdsDue(EventStatus.PUBLISHED, now, PageRequest.of(0, batchSize));
+            int changed = transition(ids, now);
+            updated += changed;
+            if (ids.size() < batchSize || changed == 0) {
+                return updated;
+            }
+        }
+    }
+
+    private int transition(List<Integer> ids, LocalDateTime now) {
+        int batchSize = this.appProperties.getEventBatchSize();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            updated += this.eventService.beginEnrollment(ids.subList(from, Math.min(from + batchSize, ids.size())), now);
+        }
+        return updated;
+    }
+
+    // synchronized (this) 안에서 부른다
+    private void apply(Event event) {
+        if (event.getEventStatus() != EventStatus.PUBLISHED || event.getBeginEnrollmentDateTime() == null) {
+            this.scheduled.remove(event.getId());
+            return;
+        }
+        // horizon 밖이면 다음 refill 이 넣는다. 이미 지난 시각이면 다음 tick 에 바로 나간다.
+        if (this.loadedUntil == null || !event.getBeginEnrollmentDateTime().isAfter(this.loadedUntil)) {
+            schedule(event.getId(), event.getBeginEnrollmentDateTime());
+        } else {
+            this.scheduled.remove(event.getId());
+        }
+    }
+
+    private void schedule(Integer eventId, LocalDateTime dueAt) {
+        if (dueAt.equals(this.scheduled.put(eventId, dueAt))) {
+            return;
+        }
+        this.queue.add(new Transition(dueAt, eventId));
+    }
+
+    private static class Transition {
+        private final LocalDateTime dueAt;
+        private final Integer eventId;
+
+        Transition(LocalDateTime dueAt, Integer eventId) {
+            this.dueAt = dueAt;
+            this.eventId = eventId;
+        }
+    }
+}
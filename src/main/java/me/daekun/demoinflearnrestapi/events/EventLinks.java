@@ -0,0 +1,46 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import me.daekun.demoinflearnrestapi.common.LinkFactory;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+
+/**
+ * 이벤트 링크. LinkFactory 가 잡아둔 base URI 에 EventController 경로를 붙여두고, 이벤트 링크는 id 만 이어붙인다.
+ */
+public final class EventLinks {
+
+    private final String eventsHref;
+
+    private EventLinks(LinkFactory linkFactory) {
+        this.eventsHref = linkFactory.href(EventController.EVENTS_PATH);
+    }
+
+    public static EventLinks current() {
+        return of(LinkFactory.current());
+    }
+
+    public static EventLinks of(LinkFactory linkFactory) {
+        return new EventLinks(linkFactory);
+    }
+
+    public String eventsHref() {
+        return this.eventsHref;
+    }
+
+    public String eventHref(Integer id) {
+        return this.eventsHref + "/" + id;
+    }
+
+    public Link eventSelf(Integer id) {
+        return Link.of(eventHref(id), IanaLinkRelations.SELF);
+    }
+
+    public Link updateEvent(Integer id) {
+        return Link.of(eventHref(id), LinkRelation.of("update-event"));
+    }
+
+    public Link events(String rel) {
+        return Link.of(this.eventsHref, LinkRelation.of(rel));
+    }
+}
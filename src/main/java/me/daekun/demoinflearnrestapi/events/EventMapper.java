@@ -0,0 +1,15 @@
+package me.daekun.demoinflearnrestapi.events;
+
+/**
+ * EventDto <-> Event 변환. 파생 필드(free, offline)는 건드리지 않으므로 변환 후에 Event.update() 를 호출해야 한다.
+ */
+public interface EventMapper {
+
+    Event toEvent(EventDto eventDto);
+
+    // 기존 Event 에 덮어쓴다. id, eventStatus, manager, version 은 그대로 둔다.
+    void update(EventDto eventDto, Event event);
+
+    EventDto toDto(Event event);
+
+}
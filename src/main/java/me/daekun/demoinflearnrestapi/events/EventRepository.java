@@ -1,8 +1,58 @@
 package me.daekun.demoinflearnrestapi.events;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
-public interface EventRepository extends JpaRepository<Event, Integer> {
+
+public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpecificationExecutor<Event>,
+        EventRepositoryCustom {
+
+    // 목록의 Last-Modified - idx_event_modified 인덱스로 끝값만 읽는다.
+    @Query("select max(e.modifiedAt) from Event e")
+    Instant findLastModified();
+
+    // 모집 중(BEGAN_ENROLLMENT)이고 자리가 남아 있을 때만 한 자리를 잡는다. 조건과 증가가 한 문장이라 동시에 실행돼도 limitOfEnrollment 를 넘지 않는다.
+    // 잡은 행 락은 이 문장을 실행한 트랜잭션이 끝날 때까지만 유지된다. 0 이면 매진이거나 모집 중이 아니다(또는 없는 이벤트).
+    @Modifying
+    @Query("update Event e set e.enrolledCount = e.enrolledCount + 1 " +
+            "where e.id = :id and e.eventStatus = me.daekun.demoinflearnrestapi.events.EventStatus.BEGAN_ENROLLMENT " +
+            "and e.enrolledCount < e.limitOfEnrollment")
+    int reserveSeat(@Param("id") Integer id);
+
+    @Modifying
+    @Query("update Event e set e.enrolledCount = e.enrolledCount - 1 where e.id = :id and e.enrolledCount > 0")
+    int releaseSeat(@Param("id") Integer id);
+
+    // 상태 전이 - idx_event_status_enrollment 인덱스로 시각이 지난 이벤트만 읽는다
+    @Query("select e.id from Event e where e.eventStatus = :status and e.beginEnrollmentDateTime <= :now " +
+            "order by e.beginEnrollmentDateTime asc, e.id asc")
+    List<Integer> findIdsDue(@Param("status") EventStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("select e.id as id, e.beginEnrollmentDateTime as beginEnrollmentDateTime from Event e " +
+            "where e.eventStatus = :status and e.beginEnrollmentDateTime > :from and e.beginEnrollmentDateTime <= :to")
+    List<EnrollmentSchedule> findEnrollmentSchedules(@Param("status") EventStatus status,
+                                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // 조건을 다시 확인하므로 그 사이에 상태나 시각이 바뀐 이벤트는 건너뛴다. ETag 가 바뀌도록 version 도 올린다.
+    // version 컬럼이 생기기 전에 들어간 행은 version 이 null 이라 null + 1 이 되지 않도록 0 에서 시작한다.
+    @Modifying
+    @Query("update Event e set e.eventStatus = :to, e.version = coalesce(e.version, 0) + 1, e.modifiedAt = :modifiedAt " +
+            "where e.id in :ids and e.eventStatus = :from and e.beginEnrollmentDateTime <= :now")
+    int transitionDue(@Param("ids") Collection<Integer> ids, @Param("from") EventStatus from, @Param("to") EventStatus to,
+                      @Param("now") LocalDateTime now, @Param("modifiedAt") Instant modifiedAt);
+
+    interface EnrollmentSchedule {
+        Integer getId();
+        LocalDateTime getBeginEnrollmentDateTime();
+    }
 
 }
@@ -0,0 +1,12 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface EventRepositoryCustom {
+
+    // JpaSpecificationExecutor 의 findAll(spec, pageable) 과 같은 조건 / 정렬로 size + 1 건만 읽고 count 쿼리는 실행하지 않는다.
+    Slice<Event> findSlice(Specification<Event> spec, Pageable pageable);
+
+}
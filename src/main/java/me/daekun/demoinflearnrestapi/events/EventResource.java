@@ -5,14 +5,18 @@ import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.RepresentationModel;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 
 // Bean Serializer
 public class EventResource extends EntityModel<Event> {
     public EventResource(Event event, Link... links) {
+        this(event, EventLinks.current(), links);
+    }
+
+    // 요청 스레드 밖에서 만들 때는 base URI 를 미리 잡아둔 EventLinks 를 넘긴다.
+    public EventResource(Event event, EventLinks eventLinks, Link... links) {
         super(event, links);
         // add(new Link("http://localhost:8080/api/events/" + event.getId()));
-        add(linkTo(EventController.class).slash(event.getId()).withSelfRel());
+        add(eventLinks.eventSelf(event.getId()));
     }
 
 //    @JsonUnwrapped
@@ -0,0 +1,58 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import me.daekun.demoinflearnrestapi.accounts.Account;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC 로 읽는 event 테이블의 한 행. 스키마는 JPA Event 엔티티가 만들고 여기서는 읽기만 한다.
+ * 응답은 EventResource 를 그대로 쓰기 위해 toEvent() 로 (영속성 컨텍스트와 무관한) Event 로 바꿔서 만든다.
+ */
+@Getter @Setter
+@Table("event")
+public class EventRow {
+
+    @Id
+    private Integer id;
+    private String name;
+    private String description;
+    private LocalDateTime beginEnrollmentDateTime;
+    private LocalDateTime closeEnrollmentDateTime;
+    private LocalDateTime beginEventDateTime;
+    private LocalDateTime endEventDateTime;
+    private String location;
+    private int basePrice;
+    private int maxPrice;
+    private int limitOfEnrollment;
+    private boolean offline;
+    private boolean free;
+    private EventStatus eventStatus;
+    private Integer version;
+    private Integer managerId;
+
+    public Event toEvent() {
+        return Event.builder()
+                .id(this.id)
+                .name(this.name)
+                .description(this.description)
+                .beginEnrollmentDateTime(this.beginEnrollmentDateTime)
+                .closeEnrollmentDateTime(this.closeEnrollmentDateTime)
+                .beginEventDateTime(this.beginEventDateTime)
+                .endEventDateTime(this.endEventDateTime)
+                .location(this.location)
+                .basePrice(this.basePrice)
+                .maxPrice(this.maxPrice)
+                .limitOfEnrollment(this.limitOfEnrollment)
+                .offline(this.offline)
+                .free(this.free)
+                .eventStatus(this.eventStatus)
+                .version(this.version)
+                // AccountSerializer 는 id 만 쓰므로 id 만 채운다
+                .manager(this.managerId == null ? null : Account.builder().id(this.managerId).build())
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import lombok.Getter;
+
+/**
+ * EventService 가 이벤트를 저장(커밋)한 뒤에 발행하는 애플리케이션 이벤트.
+ * 검색 인덱스처럼 DB 와 따로 유지하는 파생 데이터를 갱신하는 데 쓴다.
+ */
+@Getter
+public class EventSaved {
+
+    private final Event event;
+
+    // 새로 만든 이벤트인지 (변경 피드에서 created / updated 를 나눈다)
+    private final boolean created;
+
+    public EventSaved(Event event) {
+        this(event, false);
+    }
+
+    public EventSaved(Event event, boolean created) {
+        this.event = event;
+        this.created = created;
+    }
+}
@@ -0,0 +1,31 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+// GET /api/events 의 필터 조건. 값이 없는 조건은 무시한다.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSearchCondition {
+
+    private EventStatus eventStatus;
+    private Boolean free;
+    private Boolean offline;
+    private Integer basePriceMin;
+    private Integer basePriceMax;
+    private Integer maxPriceMin;
+    private Integer maxPriceMax;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginFrom; // beginEventDateTime >= beginFrom
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginTo; // beginEventDateTime < beginTo
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endFrom; // endEventDateTime >= endFrom
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endTo; // endEventDateTime < endTo
+
+}
@@ -0,0 +1,118 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 이벤트 name / description 에 대한 프로세스 내 역색인. 저장될 때마다(EventSaved) 해당 이벤트만 다시 색인하고, 시작할 때 전체를 다시 만든다.
+ * 점수는 TF-IDF - 이름에 나온 단어는 설명보다 NAME_WEIGHT 배 가중치를 준다.
+ * 노드마다 따로 가지는 인덱스이므로 다른 노드에서 저장한 이벤트는 재시작 전까지 보이지 않는다.
+ */
+@Component
+public class EventSearchIndex {
+
+    static final float NAME_WEIGHT = 2.0f;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final EventService eventService;
+
+    // term -> (eventId -> 가중치를 곱한 단어 빈도)
+    private final Map<String, Map<Integer, Float>> postings = new ConcurrentHashMap<>();
+    // eventId -> 색인된 term 목록 (다시 색인할 때 이전 posting 을 지우기 위해)
+    private final Map<Integer, Set<String>> documentTerms = new ConcurrentHashMap<>();
+
+    public EventSearchIndex(EventService eventService) {
+        this.eventService = eventService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        clear();
+        this.eventService.forEachEvent((root, query, cb) -> null, this::index);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventSaved(EventSaved eventSaved) {
+        index(eventSaved.getEvent());
+    }
+
+    public synchronized void index(Event event) {
+        remove(event.getId());
+
+        Map<String, Float> weights = new HashMap<>();
+        tokenize(event.getName()).forEach(term -> weights.merge(term, NAME_WEIGHT, Float::sum));
+        tokenize(event.getDescription()).forEach(term -> weights.merge(term, 1.0f, Float::sum));
+
+        weights.forEach((term, weight) ->
+                this.postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(event.getId(), weight));
+        this.documentTerms.put(event.getId(), weights.keySet());
+    }
+
+    public synchronized void remove(Integer eventId) {
+        Set<String> terms = this.documentTerms.remove(eventId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            this.postings.computeIfPresent(term, (t, documents) -> {
+                documents.remove(eventId);
+                return documents.isEmpty() ? null : documents;
+            });
+        }
+    }
+
+    public synchronized void clear() {
+        this.postings.clear();
+        this.documentTerms.clear();
+    }
+
+    /**
+     * 질의의 단어 중 하나라도 포함한 이벤트 id 를 점수 내림차순(같으면 id 오름차순)으로 돌려준다.
+     */
+    public List<Integer> search(String query) {
+        int documentCount = Math.max(this.documentTerms.size(), 1);
+        Map<Integer, Double> scores = new HashMap<>();
+        for (String term : new LinkedHashSet<>(tokenize(query))) {
+            Map<Integer, Float> documents = this.postings.get(term);
+            if (documents == null || documents.isEmpty()) {
+                continue;
+            }
+            double idf = Math.log(1.0 + (double) documentCount / documents.size());
+            documents.forEach((eventId, weight) -> scores.merge(eventId, weight * idf, Double::sum));
+        }
+        if (scores.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Integer> ranked = new ArrayList<>(scores.keySet());
+        ranked.sort(Comparator.<Integer>comparingDouble(scores::get).reversed().thenComparing(Comparator.naturalOrder()));
+        return ranked;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,202 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import me.daekun.demoinflearnrestapi.common.AppProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.validation.Validator;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+public class EventService {
+
+    public static final String EVENTS_CACHE = "events";
+
+    private final EventRepository eventRepository;
+    private final EventValidator eventValidator;
+    private final SpringValidatorAdapter beanValidator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties appProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    public EventService(EventRepository eventRepository, EventValidator eventValidator, Validator validator,
+                        EntityManager entityManager, PlatformTransactionManager transactionManager,
+                        AppProperties appProperties, ApplicationEventPublisher eventPublisher,
+                        CacheManager cacheManager) {
+        this.eventRepository = eventRepository;
+        this.eventValidator = eventValidator;
+        this.beanValidator = new SpringValidatorAdapter(validator);
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.appProperties = appProperties;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * 단건 조회용 read-through 캐시. 캐시된 엔티티는 준영속 상태이므로 수정할 때는 eventRepository 로 다시 읽어야 한다.
+     */
+    @Cacheable(cacheNames = EVENTS_CACHE, key = "#id", unless = "#result == null")
+    public Optional<Event> findById(Integer id) {
+        return this.eventRepository.findById(id);
+    }
+
+    @CacheEvict(cacheNames = EVENTS_CACHE, key = "#event.id", condition = "#event.id != null")
+    public Event save(Event event) {
+        boolean created = event.getId() == null;
+        Event savedEvent = this.eventRepository.save(event);
+        this.eventPublisher.publishEvent(new EventSaved(savedEvent, created));
+        return savedEvent;
+    }
+
+    /**
+     * @Valid 와 EventValidator 를 컨트롤러 밖에서 한번에 적용한다. (배치 / 임포트처럼 항목마다 검증해야 하는 경우)
+     */
+    public Errors validate(EventDto eventDto, String objectName) {
+        Errors errors = new BeanPropertyBindingResult(eventDto, objectName);
+        this.beanValidator.validate(eventDto, errors);
+        if (!errors.hasErrors()) {
+            this.eventValidator.validate(eventDto, errors);
+        }
+        return errors;
+    }
+
+    /**
+     * my-app.event-batch-size 건씩 나눠서 각각 별도의 트랜잭션으로 저장한다.
+     * 청크마다 flush / clear 하므로 영속성 컨텍스트가 커지지 않고, hibernate.jdbc.batch_size 에 따라 insert 가 묶여서 나간다.
+     * 저장에 실패하면 그 청크만 롤백되고 DataAccessException 이 나간다. 앞의 청크는 이미 커밋되어 있다.
+     */
+    public List<Event> createAll(List<Event> events) {
+        return createAll(events, (from, to, e) -> {
+            throw e;
+        });
+    }
+
+    /**
+     * createAll(events) 와 같지만 저장에 실패한 청크는 onFailure 에 알리고 다음 청크를 계속 저장한다.
+     *
+     * @return events 와 같은 순서로 저장된 이벤트. 실패한 청크의 자리는 null 이다
+     */
+    public List<Event> createAll(List<Event> events, ChunkFailureHandler onFailure) {
+        int chunkSize = this.appProperties.getEventBatchSize();
+        List<Event> saved = new ArrayList<>(events.size());
+        for (int from = 0; from < events.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, events.size());
+            List<Event> chunk = events.subList(from, to);
+            List<Event> savedChunk;
+            try {
+                savedChunk = this.transactionTemplate.execute(status -> {
+                    List<Event> result = this.eventRepository.saveAll(chunk);
+                    // insert 는 flush 에서 나가므로 예외가 DataAccessException 으로 바뀌도록 리포지토리로 flush 한다
+                    this.eventRepository.flush();
+                    this.entityManager.clear();
+                    return result;
+                });
+            } catch (DataAccessException e) {
+                onFailure.failed(from, to, e);
+                saved.addAll(Collections.nCopies(to - from, null));
+                continue;
+            }
+            savedChunk.forEach(event -> this.eventPublisher.publishEvent(new EventSaved(event, true)));
+            saved.addAll(savedChunk);
+        }
+        return saved;
+    }
+
+    /**
+     * createAll 에서 롤백된 청크를 받는다. from, to 는 넘긴 목록의 [from, to) 구간이다.
+     */
+    @FunctionalInterface
+    public interface ChunkFailureHandler {
+        void failed(int from, int to, DataAccessException exception);
+    }
+
+    /**
+     * ids 중에서 now 에 beginEnrollmentDateTime 이 지난 PUBLISHED 이벤트를 update 한 문장으로 BEGAN_ENROLLMENT 로 바꾼다.
+     * 엔티티를 하나씩 저장하지 않으므로 바뀐 이벤트는 다시 읽어서 EventSaved 를 발행하고, 커밋한 뒤에 캐시를 비운다.
+     *
+     * @return 바뀐 이벤트 수
+     */
+    @Transactional
+    public int beginEnrollment(Collection<Integer> ids, LocalDateTime now) {
+        int updated = this.eventRepository.transitionDue(ids, EventStatus.PUBLISHED, EventStatus.BEGAN_ENROLLMENT,
+                now, Instant.now());
+        if (updated == 0) {
+            return 0;
+        }
+        List<Integer> changed = new ArrayList<>();
+        for (Event event : this.eventRepository.findAllById(ids)) {
+            if (event.getEventStatus() == EventStatus.BEGAN_ENROLLMENT) {
+                changed.add(event.getId());
+                this.eventPublisher.publishEvent(new EventSaved(event));
+            }
+        }
+        // 커밋 전에 비우면 그 사이의 findById 가 바뀌기 전의 행을 다시 캐시하므로 커밋한 뒤에 비운다
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Cache cache = cacheManager.getCache(EVENTS_CACHE);
+                if (cache != null) {
+                    changed.forEach(cache::evict);
+                }
+            }
+        });
+        return updated;
+    }
+
+    /**
+     * 조건에 맞는 이벤트를 id 순으로 하나씩 넘긴다. 읽기 전용 트랜잭션 안에서 my-app.export-fetch-size 건씩 커서로 읽고,
+     * 넘긴 엔티티는 바로 detach 하므로 건수와 상관없이 영속성 컨텍스트가 커지지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public void forEachEvent(Specification<Event> spec, Consumer<Event> action) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        try (Stream<Event> events = this.entityManager.createQuery(query)
+                .setHint(QueryHints.FETCH_SIZE, this.appProperties.getExportFetchSize())
+                .setHint(QueryHints.READ_ONLY, true)
+                .getResultStream()) {
+            events.forEach(event -> {
+                action.accept(event);
+                this.entityManager.detach(event);
+            });
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Predicate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 조건 순서는 Event 테이블의 복합 인덱스 컬럼 순서(동등 조건 -> 범위 조건)를 따른다.
+public class EventSpecs {
+
+    private EventSpecs() {
+    }
+
+    public static Specification<Event> of(EventSearchCondition condition) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (condition.getEventStatus() != null) {
+                predicates.add(cb.equal(root.get("eventStatus"), condition.getEventStatus()));
+            }
+            if (condition.getFree() != null) {
+                predicates.add(cb.equal(root.get("free"), condition.getFree()));
+            }
+            if (condition.getOffline() != null) {
+                predicates.add(cb.equal(root.get("offline"), condition.getOffline()));
+            }
+            if (condition.getBasePriceMin() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("basePrice"), condition.getBasePriceMin()));
+            }
+            if (condition.getBasePriceMax() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("basePrice"), condition.getBasePriceMax()));
+            }
+            if (condition.getMaxPriceMin() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("maxPrice"), condition.getMaxPriceMin()));
+            }
+            if (condition.getMaxPriceMax() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("maxPrice"), condition.getMaxPriceMax()));
+            }
+            if (condition.getBeginFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("beginEventDateTime"), condition.getBeginFrom()));
+            }
+            if (condition.getBeginTo() != null) {
+                predicates.add(cb.lessThan(root.get("beginEventDateTime"), condition.getBeginTo()));
+            }
+            if (condition.getEndFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("endEventDateTime"), condition.getEndFrom()));
+            }
+            if (condition.getEndTo() != null) {
+                predicates.add(cb.lessThan(root.get("endEventDateTime"), condition.getEndTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Keyset 페이징 - (beginEventDateTime, id) 가 커서보다 뒤 / 앞인 이벤트. idx_event_begin_id 인덱스 순서와 같다.
+    public static Specification<Event> after(LocalDateTime begin, Integer id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("beginEventDateTime"), begin),
+                cb.and(cb.equal(root.get("beginEventDateTime"), begin), cb.greaterThan(root.get("id"), id)));
+    }
+
+    public static Specification<Event> before(LocalDateTime begin, Integer id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("beginEventDateTime"), begin),
+                cb.and(cb.equal(root.get("beginEventDateTime"), begin), cb.lessThan(root.get("id"), id)));
+    }
+}
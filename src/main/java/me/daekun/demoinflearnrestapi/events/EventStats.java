@@ -0,0 +1,25 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * GET /api/events/stats 응답 본문. byManager 의 키는 manager(Account) id 다.
+ */
+@Builder
+@Getter
+public class EventStats {
+
+    private final long total;
+    private final Map<EventStatus, Long> byStatus;
+    private final long free;
+    private final long paid;
+    private final long offline;
+    private final long online;
+    private final Map<Integer, Long> byManager;
+    // 마지막으로 DB 와 맞춰본 시각
+    private final Instant reconciledAt;
+}
@@ -0,0 +1,200 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * GET /api/events/stats 용 카운터. 이벤트가 저장(커밋)될 때마다 이전 값의 칸에서 빼고 새 값의 칸에 더하므로 조회는 테이블 크기와 상관없다.
+ * 이전 값을 알기 위해 이벤트별로 마지막에 센 칸(Bucket)을 들고 있다.
+ * API 밖에서 바뀐 행은 주기적인 reconcile 에서 DB 를 한번 훑어서 바로잡는다 (GROUP BY 는 쓰지 않는다).
+ */
+@Component
+public class EventStatsCounter {
+
+    private final EventService eventService;
+
+    // eventId -> 마지막으로 센 칸
+    private final Map<Integer, Bucket> buckets = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+    private final Map<EventStatus, LongAdder> byStatus = new EnumMap<>(EventStatus.class);
+    private final LongAdder free = new LongAdder();
+    private final LongAdder offline = new LongAdder();
+    private final Map<Integer, LongAdder> byManager = new ConcurrentHashMap<>();
+
+    // 저장은 읽기 락을 나눠 쓰고, reconcile 이 카운터를 바꿔치기할 때만 쓰기 락을 잡는다
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // reconcile 이 DB 를 훑는 동안 저장된 이벤트 id - 훑은 값보다 최신이므로 그대로 둔다
+    private volatile Set<Integer> savedWhileReconciling;
+    private volatile Instant reconciledAt;
+
+    public EventStatsCounter(EventService eventService) {
+        this.eventService = eventService;
+        for (EventStatus status : EventStatus.values()) {
+            this.byStatus.put(status, new LongAdder());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventSaved(EventSaved eventSaved) {
+        Event event = eventSaved.getEvent();
+        Bucket after = Bucket.of(event);
+        this.lock.readLock().lock();
+        try {
+            this.buckets.compute(event.getId(), (id, before) -> {
+                if (before != null) {
+                    add(before, -1);
+                }
+                add(after, 1);
+                return after;
+            });
+            Set<Integer> saved = this.savedWhileReconciling;
+            if (saved != null) {
+                saved.add(event.getId());
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${my-app.stats-reconcile-interval:PT10M}",
+            initialDelayString = "${my-app.stats-reconcile-interval:PT10M}")
+    public void reconcileOnSchedule() {
+        reconcile();
+    }
+
+    /**
+     * DB 의 이벤트를 커서로 훑어서 카운터를 다시 만든다.
+     *
+     * @return 카운터와 DB 가 달랐던 이벤트 수
+     */
+    public int reconcile() {
+        Set<Integer> saved = ConcurrentHashMap.newKeySet();
+        this.savedWhileReconciling = saved;
+        Map<Integer, Bucket> scanned = new HashMap<>();
+        try {
+            this.eventService.forEachEvent((root, query, cb) -> null, event -> scanned.put(event.getId(), Bucket.of(event)));
+        } catch (RuntimeException e) {
+            this.savedWhileReconciling = null;
+            throw e;
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            this.savedWhileReconciling = null;
+            for (Integer id : saved) {
+                Bucket current = this.buckets.get(id);
+                if (current != null) {
+                    scanned.put(id, current);
+                }
+            }
+
+            int drift = 0;
+            for (Map.Entry<Integer, Bucket> entry : scanned.entrySet()) {
+                if (!entry.getValue().equals(this.buckets.get(entry.getKey()))) {
+                    drift++;
+                }
+            }
+            for (Integer id : this.buckets.keySet()) {
+                if (!scanned.containsKey(id)) {
+                    drift++;
+                }
+            }
+
+            this.buckets.clear();
+            this.total.reset();
+            this.byStatus.values().forEach(LongAdder::reset);
+            this.free.reset();
+            this.offline.reset();
+            this.byManager.clear();
+            scanned.forEach((id, bucket) -> {
+                this.buckets.put(id, bucket);
+                add(bucket, 1);
+            });
+            this.reconciledAt = Instant.now();
+            return drift;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * reconcile 이 카운터를 비우고 다시 채우는 중간 값을 보지 않도록 읽기 락을 잡고 읽는다.
+     */
+    public EventStats snapshot() {
+        this.lock.readLock().lock();
+        try {
+            Map<EventStatus, Long> statusCounts = new EnumMap<>(EventStatus.class);
+            this.byStatus.forEach((status, count) -> statusCounts.put(status, count.sum()));
+            Map<Integer, Long> managerCounts = new HashMap<>();
+            this.byManager.forEach((managerId, count) -> {
+                long sum = count.sum();
+                if (sum > 0) {
+                    managerCounts.put(managerId, sum);
+                }
+            });
+
+            long totalCount = this.total.sum();
+            long freeCount = this.free.sum();
+            long offlineCount = this.offline.sum();
+            return EventStats.builder()
+                    .total(totalCount)
+                    .byStatus(statusCounts)
+                    .free(freeCount)
+                    .paid(totalCount - freeCount)
+                    .offline(offlineCount)
+                    .online(totalCount - offlineCount)
+                    .byManager(managerCounts)
+                    .reconciledAt(this.reconciledAt)
+                    .build();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void add(Bucket bucket, int delta) {
+        this.total.add(delta);
+        if (bucket.status != null) {
+            this.byStatus.get(bucket.status).add(delta);
+        }
+        if (bucket.free) {
+            this.free.add(delta);
+        }
+        if (bucket.offline) {
+            this.offline.add(delta);
+        }
+        if (bucket.managerId != null) {
+            this.byManager.computeIfAbsent(bucket.managerId, id -> new LongAdder()).add(delta);
+        }
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class Bucket {
+        private final EventStatus status;
+        private final boolean free;
+        private final boolean offline;
+        private final Integer managerId;
+
+        static Bucket of(Event event) {
+            // manager 는 프록시일 수 있으므로 id 만 꺼낸다
+            Integer managerId = event.getManager() != null ? event.getManager().getId() : null;
+            return new Bucket(event.getEventStatus(), event.isFree(), event.isOffline(), managerId);
+        }
+    }
+}
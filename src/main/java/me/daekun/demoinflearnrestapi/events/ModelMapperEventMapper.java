@@ -0,0 +1,28 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import org.modelmapper.ModelMapper;
+
+// 예전 방식. my-app.event-mapper=model-mapper 로 되돌릴 수 있게 남겨둔다.
+public class ModelMapperEventMapper implements EventMapper {
+
+    private final ModelMapper modelMapper;
+
+    public ModelMapperEventMapper(ModelMapper modelMapper) {
+        this.modelMapper = modelMapper;
+    }
+
+    @Override
+    public Event toEvent(EventDto eventDto) {
+        return this.modelMapper.map(eventDto, Event.class);
+    }
+
+    @Override
+    public void update(EventDto eventDto, Event event) {
+        this.modelMapper.map(eventDto, event);
+    }
+
+    @Override
+    public EventDto toDto(Event event) {
+        return this.modelMapper.map(event, EventDto.class);
+    }
+}
@@ -0,0 +1,99 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import me.daekun.demoinflearnrestapi.accounts.Account;
+import me.daekun.demoinflearnrestapi.accounts.CurrentUser;
+import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * /api/events, /api/events/{id} 와 같은 HAL 응답을 R2DBC 로 읽어서 내려주는 읽기 전용 API.
+ * 핸들러는 Mono 를 돌려주고 서블릿 비동기로 끝나므로 DB 를 기다리는 동안 요청 스레드를 잡고 있지 않는다.
+ * 링크는 요청 스레드에서 base URI 를 잡아두고 만든다. (R2DBC 스레드에는 RequestContextHolder 가 없다)
+ */
+@RestController
+@RequestMapping(value = "/api/reactive/events", produces = MediaTypes.HAL_JSON_VALUE)
+public class ReactiveEventController {
+
+    private final ReactiveEventRepository reactiveEventRepository;
+
+    public ReactiveEventController(ReactiveEventRepository reactiveEventRepository) {
+        this.reactiveEventRepository = reactiveEventRepository;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<PagedModel<EventResource>>> queryEvents(Pageable pageable, @CurrentUser Account account) {
+        EventLinks links = EventLinks.current();
+        UriComponentsBuilder self = ServletUriComponentsBuilder.fromCurrentRequest();
+
+        return this.reactiveEventRepository.findAllBy(pageable)
+                .map(row -> new EventResource(row.toEvent(), links))
+                .collectList()
+                .zipWith(this.reactiveEventRepository.count())
+                .map(pageAndTotal -> {
+                    List<EventResource> content = pageAndTotal.getT1();
+                    long total = pageAndTotal.getT2();
+                    PagedModel.PageMetadata metadata = new PagedModel.PageMetadata(
+                            pageable.getPageSize(), pageable.getPageNumber(), total);
+                    PagedModel<EventResource> pagedModel = PagedModel.of(content, metadata, pageLinks(self, metadata));
+                    pagedModel.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
+                    if (account != null) {
+                        pagedModel.add(links.events("create-event"));
+                    }
+                    return ResponseEntity.ok().varyBy(HttpHeaders.AUTHORIZATION).body(pagedModel);
+                });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<EventResource>> getEvent(@PathVariable Integer id, @CurrentUser Account currentUser) {
+        EventLinks links = EventLinks.current();
+
+        return this.reactiveEventRepository.findById(id)
+                .map(row -> {
+                    Event event = row.toEvent();
+                    EventResource eventResource = new EventResource(event, links);
+                    eventResource.add(Link.of("/docs/index.html#resources-events-get").withRel("profile"));
+                    if (event.isManagedBy(currentUser)) {
+                        eventResource.add(links.updateEvent(event.getId()));
+                    }
+                    return ResponseEntity.ok().varyBy(HttpHeaders.AUTHORIZATION).body(eventResource);
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // PagedResourcesAssembler 와 같은 first / prev / self / next / last 링크
+    private static List<Link> pageLinks(UriComponentsBuilder self, PagedModel.PageMetadata metadata) {
+        List<Link> pageLinks = new ArrayList<>();
+        long number = metadata.getNumber();
+        long lastPage = Math.max(metadata.getTotalPages() - 1, 0);
+        if (number > 0) {
+            pageLinks.add(pageLink(self, 0, IanaLinkRelations.FIRST));
+            pageLinks.add(pageLink(self, number - 1, IanaLinkRelations.PREV));
+        }
+        pageLinks.add(Link.of(self.toUriString()).withSelfRel());
+        if (number < lastPage) {
+            pageLinks.add(pageLink(self, number + 1, IanaLinkRelations.NEXT));
+            pageLinks.add(pageLink(self, lastPage, IanaLinkRelations.LAST));
+        }
+        return pageLinks;
+    }
+
+    private static Link pageLink(UriComponentsBuilder self, long page, LinkRelation rel) {
+        return Link.of(self.cloneBuilder().replaceQueryParam("page", page).toUriString(), rel);
+    }
+}
@@ -0,0 +1,12 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+// EventRepository(JPA) 와 같은 테이블을 R2DBC 로 읽는다. 쓰기는 JPA 쪽에서만 한다.
+public interface ReactiveEventRepository extends R2dbcRepository<EventRow, Integer> {
+
+    Flux<EventRow> findAllBy(Pageable pageable);
+
+}
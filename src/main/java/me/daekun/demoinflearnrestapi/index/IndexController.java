@@ -1,19 +1,18 @@
 package me.daekun.demoinflearnrestapi.index;
 
-import me.daekun.demoinflearnrestapi.events.EventController;
+import me.daekun.demoinflearnrestapi.common.LinkFactory;
+import me.daekun.demoinflearnrestapi.events.EventLinks;
 import org.springframework.hateoas.RepresentationModel;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-
 @RestController
 public class IndexController {
 
-    @GetMapping("/api")
+    @GetMapping(LinkFactory.INDEX_PATH)
     public RepresentationModel index() {
         var index = new RepresentationModel();
-        index.add(linkTo(EventController.class).withRel("events"));
+        index.add(EventLinks.current().events("events"));
         return index;
     }
 }
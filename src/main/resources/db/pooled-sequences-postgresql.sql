@@ -0,0 +1,17 @@
+-- Event / Account 의 id 생성을 공용 hibernate_sequence(increment 1) 에서
+-- 엔티티별 pooled-lo 시퀀스(increment = app.id.allocation_size, 기본 50)로 옮기는 스크립트.
+-- ddl-auto 로 스키마를 만들지 않는 기존 Postgres DB 에서 애플리케이션을 내린 상태로 한번 실행한다.
+-- pooled-lo 는 nextval 값을 블록의 시작 id 로 쓰므로, 다음 nextval 이 현재 max(id) 보다 커지도록 맞춰둔다.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS event_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('event_seq', COALESCE((SELECT MAX(id) FROM event), 0) + 1, false);
+
+CREATE SEQUENCE IF NOT EXISTS account_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('account_seq', COALESCE((SELECT MAX(id) FROM account), 0) + 1, false);
+
+COMMIT;
+
+-- 새 버전이 정상 동작하는 것을 확인한 뒤에 이전 시퀀스를 정리한다.
+-- DROP SEQUENCE IF EXISTS hibernate_sequence;
@@ -0,0 +1,67 @@
+package me.daekun.demoinflearnrestapi.accounts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 인증마다 만들어지는 AccountAdapter 생성 비용.
+ *
+ * 실행: mvn -P benchmark -DskipTests test -Djmh.args=AccountAdapter
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountAdapterBenchmark {
+
+    private Account user;
+    private Account admin;
+
+    @Setup
+    public void setUp() {
+        this.user = Account.builder()
+                .id(1)
+                .email("user@email.com")
+                .password("{bcrypt}$2a$10$abcdefghijklmnopqrstuuM5ZQn0yEXAMPLEHASHVALUEabcdefghi")
+                .roles(Set.of(AccountRole.USER))
+                .build();
+        this.admin = Account.builder()
+                .id(2)
+                .email("admin@email.com")
+                .password("{bcrypt}$2a$10$abcdefghijklmnopqrstuuM5ZQn0yEXAMPLEHASHVALUEabcdefghi")
+                .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                .build();
+    }
+
+    @Benchmark
+    public AccountAdapter user() {
+        return new AccountAdapter(this.user);
+    }
+
+    @Benchmark
+    public AccountAdapter admin() {
+        return new AccountAdapter(this.admin);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AccountAdapterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
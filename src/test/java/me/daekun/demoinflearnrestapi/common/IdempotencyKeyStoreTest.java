@@ -0,0 +1,166 @@
+package me.daekun.demoinflearnrestapi.common;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdempotencyKeyStoreTest {
+
+    private final IdempotencyKeyStore store = store();
+
+    @Test
+    @TestDescription("실패한 응답은 남기지 않아서 같은 key 로 다시 처리할 수 있다")
+    public void failedResponseIsNotStored() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ResponseEntity<?> failed = this.store.execute("1:key", "body", () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.badRequest().build();
+        }, this::mismatch, this::inProgress);
+        ResponseEntity<?> created = this.store.execute("1:key", "body", () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body("event");
+        }, this::mismatch, this::inProgress);
+        ResponseEntity<?> replayed = this.store.execute("1:key", "body", () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body("other");
+        }, this::mismatch, this::inProgress);
+
+        assertThat(failed.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replayed.getBody()).isEqualTo("event");
+        assertThat(replayed.getHeaders().getFirst(IdempotencyKeyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    @TestDescription("처리 중인 key 로 들어온 요청은 먼저 온 요청의 응답을 기다려서 받는다")
+    public void concurrentDuplicateWaits() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<?>> first = executor.submit(() -> this.store.execute("1:key", "body", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return ResponseEntity.status(HttpStatus.CREATED).body("event");
+            }, this::mismatch, this::inProgress));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            CountDownLatch duplicateEntered = new CountDownLatch(1);
+            AtomicReference<Thread> duplicateThread = new AtomicReference<>();
+            Future<ResponseEntity<?>> duplicate = executor.submit(() -> {
+                duplicateThread.set(Thread.currentThread());
+                duplicateEntered.countDown();
+                return this.store.execute("1:key", "body", () -> {
+                    calls.incrementAndGet();
+                    return ResponseEntity.status(HttpStatus.CREATED).body("duplicate");
+                }, this::mismatch, this::inProgress);
+            });
+
+            // 중복 요청이 먼저 온 요청의 응답을 기다리며 멈춰 있는 것을 확인한 다음에 풀어준다
+            assertThat(duplicateEntered.await(5, TimeUnit.SECONDS)).isTrue();
+            awaitState(duplicateThread.get(), Thread.State.TIMED_WAITING);
+            assertThat(duplicate).isNotDone();
+            assertThat(calls).hasValue(1);
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("event");
+            ResponseEntity<?> replayed = duplicate.get(5, TimeUnit.SECONDS);
+            assertThat(replayed.getBody()).isEqualTo("event");
+            assertThat(replayed.getHeaders().getFirst(IdempotencyKeyStore.REPLAYED_HEADER)).isEqualTo("true");
+            assertThat(calls).hasValue(1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @TestDescription("먼저 온 요청이 기다리는 시간 안에 끝나지 않으면 처리 중 응답을 받고, 끝난 다음에는 그 응답을 받는다")
+    public void concurrentDuplicateTimesOut() throws Exception {
+        IdempotencyKeyStore store = store(Duration.ofMillis(100));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ResponseEntity<?>> first = executor.submit(() -> store.execute("1:key", "body", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return ResponseEntity.status(HttpStatus.CREATED).body("event");
+            }, this::mismatch, this::inProgress));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            ResponseEntity<?> duplicate = store.execute("1:key", "body", () -> {
+                calls.incrementAndGet();
+                return ResponseEntity.status(HttpStatus.CREATED).body("duplicate");
+            }, this::mismatch, this::inProgress);
+
+            assertThat(duplicate.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(first).isNotDone();
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("event");
+            ResponseEntity<?> retried = store.execute("1:key", "body", () -> {
+                calls.incrementAndGet();
+                return ResponseEntity.status(HttpStatus.CREATED).body("duplicate");
+            }, this::mismatch, this::inProgress);
+            assertThat(retried.getBody()).isEqualTo("event");
+            assertThat(calls).hasValue(1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private ResponseEntity<?> mismatch() {
+        return ResponseEntity.unprocessableEntity().build();
+    }
+
+    private ResponseEntity<?> inProgress() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != state) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static IdempotencyKeyStore store() {
+        return store(Duration.ofSeconds(5));
+    }
+
+    private static IdempotencyKeyStore store(Duration waitTimeout) {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setIdempotencyKeyMaxSize(100);
+        appProperties.setIdempotencyKeyTtl(Duration.ofMinutes(1));
+        appProperties.setIdempotencyKeyWaitTimeout(waitTimeout);
+        return new IdempotencyKeyStore(appProperties);
+    }
+}
@@ -0,0 +1,92 @@
+package me.daekun.demoinflearnrestapi.common;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IntervalTreeTest {
+
+    @Test
+    public void stabAndOverlap() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(10, 20, 1);
+        tree.insert(15, 30, 2);
+        tree.insert(25, 40, 3);
+        tree.insert(10, 12, 4);
+
+        assertThat(collectStab(tree, 11)).containsExactly(1, 4);
+        // 양 끝을 포함한다
+        assertThat(collectStab(tree, 20)).containsExactly(1, 2);
+        assertThat(collectStab(tree, 41)).isEmpty();
+        assertThat(collectOverlap(tree, 21, 24)).containsExactly(2);
+        assertThat(collectOverlap(tree, 0, 100)).containsExactly(1, 4, 2, 3);
+    }
+
+    @Test
+    public void remove() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(10, 20, 1);
+        tree.insert(10, 20, 2);
+
+        assertThat(tree.remove(10, 1)).isTrue();
+        assertThat(tree.remove(10, 1)).isFalse();
+        assertThat(tree.remove(11, 2)).isFalse();
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(collectStab(tree, 15)).containsExactly(2);
+    }
+
+    @Test
+    public void invalidInterval() {
+        assertThatThrownBy(() -> new IntervalTree().insert(2, 1, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void sameAsLinearScan() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        Map<Integer, long[]> intervals = new HashMap<>();
+        for (int id = 0; id < 2000; id++) {
+            long start = random.nextInt(10_000);
+            long end = start + random.nextInt(500);
+            tree.insert(start, end, id);
+            intervals.put(id, new long[]{start, end});
+        }
+        // 절반을 지우면서 회전이 일어나도 maxEnd 가 맞아야 한다
+        for (int id = 0; id < 2000; id += 2) {
+            assertThat(tree.remove(intervals.remove(id)[0], id)).isTrue();
+        }
+        assertThat(tree.size()).isEqualTo(intervals.size());
+
+        for (int i = 0; i < 200; i++) {
+            long from = random.nextInt(11_000);
+            long to = from + random.nextInt(300);
+            List<Integer> expected = new ArrayList<>();
+            intervals.forEach((id, interval) -> {
+                if (interval[0] <= to && interval[1] >= from) {
+                    expected.add(id);
+                }
+            });
+            assertThat(collectOverlap(tree, from, to)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private List<Integer> collectStab(IntervalTree tree, long point) {
+        List<Integer> ids = new ArrayList<>();
+        tree.stab(point, ids::add);
+        return ids;
+    }
+
+    private List<Integer> collectOverlap(IntervalTree tree, long from, long to) {
+        List<Integer> ids = new ArrayList<>();
+        tree.overlap(from, to, ids::add);
+        return ids;
+    }
+}
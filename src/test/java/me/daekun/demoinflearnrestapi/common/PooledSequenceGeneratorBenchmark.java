@@ -0,0 +1,61 @@
+package me.daekun.demoinflearnrestapi.common;
+
+import me.daekun.demoinflearnrestapi.DemoApplication;
+import me.daekun.demoinflearnrestapi.events.Event;
+import me.daekun.demoinflearnrestapi.events.EventService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * EventService.createAll(saveAll, hibernate.jdbc.batch_size 50)로 이벤트를 저장할 때 id 할당 크기에 따른 처리량과 시퀀스 호출 수.
+ * allocation size 1 은 행마다 시퀀스를 부르는 것(옵티마이저 없음)과 같다. 애플리케이션을 띄워서 재는 main 이고, 할당 크기마다 따로 실행한다.
+ *
+ * 실행: mvn test-compile 후
+ *   java -cp ... me.daekun.demoinflearnrestapi.common.PooledSequenceGeneratorBenchmark [allocationSize] [rows] [rounds]
+ * 라운드마다 결과를 한 줄 JSON 으로 출력한다.
+ */
+public class PooledSequenceGeneratorBenchmark {
+
+    public static void main(String[] args) {
+        int allocationSize = args.length > 0 ? Integer.parseInt(args[0]) : PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.jpa.properties." + PooledSequenceGenerator.ALLOCATION_SIZE_SETTING + "=" + allocationSize,
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        try {
+            EventService eventService = context.getBean(EventService.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            for (int round = 1; round <= rounds; round++) {
+                List<Event> events = IntStream.range(0, rows)
+                        .mapToObj(i -> Event.builder().name("Spring " + i).description("REST API Development").build())
+                        .collect(Collectors.toList());
+                long before = sequenceValue(jdbcTemplate);
+                long start = System.nanoTime();
+                eventService.createAll(events);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                long sequenceCalls = (sequenceValue(jdbcTemplate) - before) / allocationSize;
+
+                System.out.printf("{\"allocationSize\":%d,\"round\":%d,\"rows\":%d,\"rowsPerSecond\":%.0f,\"sequenceCalls\":%d}%n",
+                        allocationSize, round, rows, rows / seconds, sequenceCalls);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static long sequenceValue(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("select current_value from information_schema.sequences " +
+                "where sequence_name = 'EVENT_SEQ'", Long.class);
+    }
+}
@@ -0,0 +1,88 @@
+package me.daekun.demoinflearnrestapi.common;
+
+import me.daekun.demoinflearnrestapi.events.Event;
+import me.daekun.demoinflearnrestapi.events.EventRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class PooledSequenceGeneratorTest {
+
+    private static final int ALLOCATION_SIZE = PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @TestDescription("여러 할당 블록에 걸쳐 저장해도 id 가 겹치지 않고 늘어나며, 시퀀스는 블록마다 한번만 부른다")
+    public void allocateAcrossBlocks() {
+        int count = ALLOCATION_SIZE * 3 + 7;
+        long before = sequenceValue();
+
+        List<Event> saved = this.eventRepository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> Event.builder().name("Spring " + i).build())
+                .collect(Collectors.toList()));
+
+        List<Integer> ids = saved.stream().map(Event::getId).collect(Collectors.toList());
+        assertThat(ids).hasSize(count).doesNotHaveDuplicates().isSorted();
+        assertThat(ids.get(0)).isPositive();
+        // 시퀀스는 한번에 블록 크기만큼 늘어난다. 앞에서 쓰던 블록에 남은 id 가 있을 수 있으므로 블록 수는 3 ~ 4 번이다
+        long advanced = sequenceValue() - before;
+        assertThat(advanced % ALLOCATION_SIZE).isZero();
+        assertThat(advanced / ALLOCATION_SIZE).isBetween(3L, 4L);
+    }
+
+    @Test
+    @TestDescription("여러 스레드가 동시에 저장해도 id 가 겹치지 않는다")
+    public void allocateConcurrently() throws Exception {
+        int threads = 4;
+        int perThread = ALLOCATION_SIZE + 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Callable<List<Integer>> task = () -> IntStream.range(0, perThread)
+                        .mapToObj(i -> this.eventRepository.save(Event.builder().name("Spring " + i).build()).getId())
+                        .collect(Collectors.toList());
+                futures.add(executor.submit(task));
+            }
+
+            List<Integer> ids = new ArrayList<>();
+            for (Future<List<Integer>> future : futures) {
+                List<Integer> threadIds = future.get();
+                // 한 스레드 안에서는 저장한 순서대로 늘어난다
+                assertThat(threadIds).isSorted();
+                ids.addAll(threadIds);
+            }
+            assertThat(ids).hasSize(threads * perThread).doesNotHaveDuplicates();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long sequenceValue() {
+        return this.jdbcTemplate.queryForObject("select current_value from information_schema.sequences " +
+                "where sequence_name = 'EVENT_SEQ'", Long.class);
+    }
+}
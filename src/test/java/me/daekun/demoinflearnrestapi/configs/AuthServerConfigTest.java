@@ -1,6 +1,7 @@
 package me.daekun.demoinflearnrestapi.configs;
 
 import me.daekun.demoinflearnrestapi.accounts.Account;
+import me.daekun.demoinflearnrestapi.accounts.AccountRepository;
 import me.daekun.demoinflearnrestapi.accounts.AccountRole;
 import me.daekun.demoinflearnrestapi.accounts.AccountService;
 import me.daekun.demoinflearnrestapi.common.AppProperties;
@@ -21,12 +22,24 @@ public class AuthServerConfigTest extends BaseControllerTest {
     @Autowired
     AccountService accountService;
 
+    @Autowired
+    AccountRepository accountRepository;
+
     @Autowired
     AppProperties appProperties;
 
     @Test
     @TestDescription("인증 토큰을 발급 받는 테스트")
     public void getAuthToken() throws Exception {
+        // 시작할 때 만든 계정을 다른 테스트(EventControllerTests 등)가 지웠을 수 있다
+        if (this.accountRepository.findByEmail(appProperties.getUserUsername()).isEmpty()) {
+            this.accountService.saveAccount(Account.builder()
+                    .email(appProperties.getUserUsername())
+                    .password(appProperties.getUserPassword())
+                    .roles(Set.of(AccountRole.USER))
+                    .build());
+        }
+
         this.mockMvc.perform(post("/oauth/token")
                 .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
                 .param("username", appProperties.getUserUsername())
@@ -0,0 +1,204 @@
+package me.daekun.demoinflearnrestapi.configs;
+
+import me.daekun.demoinflearnrestapi.DemoApplication;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * my-app.virtual-threads 켜고 끈 상태의 부하 비교. JMH 가 아니라 애플리케이션을 띄우고 HTTP 로 부하를 주는 main 이다.
+ * 모든 SQL 문에 지연을 넣어서 느린 DB 를 흉내내고, queryEvents 75% / createEvent 20% / 토큰 발급(bcrypt) 5% 를 섞어서 보낸다.
+ *
+ * 실행: mvn test-compile 후 (가상 스레드는 Java 21 이상에서 실행)
+ *   java -cp ... me.daekun.demoinflearnrestapi.configs.ExecutionModeLoadBenchmark [platform|virtual] [clients] [seconds] [dbLatencyMs]
+ * 결과는 한 줄 JSON 으로 출력한다.
+ */
+public class ExecutionModeLoadBenchmark {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"access_token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static final String EVENT_JSON = "{\"name\":\"Spring\",\"description\":\"REST API Development with Spring\"," +
+            "\"beginEnrollmentDateTime\":\"2018-11-23T14:21:00\",\"closeEnrollmentDateTime\":\"2018-11-24T14:21:00\"," +
+            "\"beginEventDateTime\":\"2018-11-25T14:21:00\",\"endEventDateTime\":\"2018-11-26T14:21:00\"," +
+            "\"location\":\"D2\",\"basePrice\":100,\"maxPrice\":200,\"limitOfEnrollment\":100}";
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "platform";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        long dbLatencyMs = args.length > 3 ? Long.parseLong(args[3]) : 10;
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .profiles("test")
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new SlowDatabase(dbLatencyMs)))
+                .run("--server.port=0",
+                        // 플랫폼 스레드 모드의 상한. 가상 스레드 모드에서는 쓰이지 않는다.
+                        "--server.tomcat.threads.max=50",
+                        // 스레드가 아니라 커넥션이 먼저 모자라지 않도록 풀을 넉넉히 둔다
+                        "--spring.datasource.hikari.maximum-pool-size=200",
+                        "--my-app.virtual-threads=" + mode.equals("virtual"),
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            run(mode, "http://localhost:" + port, clients, seconds, dbLatencyMs);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(String mode, String baseUri, int clients, int seconds, long dbLatencyMs) throws Exception {
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(16);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(httpExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String bearerToken = "Bearer " + accessToken(httpClient, baseUri);
+
+        // 워밍업
+        for (int i = 0; i < 200; i++) {
+            send(httpClient, baseUri, bearerToken, i % 5);
+        }
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger errors = new AtomicInteger();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService loadClients = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            loadClients.execute(() -> {
+                List<Long> local = new ArrayList<>();
+                while (System.nanoTime() < deadline) {
+                    int dice = ThreadLocalRandom.current().nextInt(20);
+                    long start = System.nanoTime();
+                    try {
+                        int status = send(httpClient, baseUri, bearerToken, dice);
+                        if (status >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    local.add(System.nanoTime() - start);
+                }
+                latencies.addAll(local);
+            });
+        }
+        loadClients.shutdown();
+        loadClients.awaitTermination(seconds + 60, TimeUnit.SECONDS);
+        httpExecutor.shutdown();
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("{\"mode\":\"%s\",\"java\":\"%s\",\"clients\":%d,\"seconds\":%d,\"dbLatencyMs\":%d," +
+                        "\"requests\":%d,\"errors\":%d,\"throughput\":%.1f,\"p50Ms\":%.1f,\"p99Ms\":%.1f}%n",
+                mode, Runtime.version(), clients, seconds, dbLatencyMs, sorted.size(), errors.get(),
+                sorted.size() / (double) seconds, percentile(sorted, 0.50), percentile(sorted, 0.99));
+    }
+
+    // 0~14 목록 조회, 15~18 이벤트 생성, 19 토큰 발급
+    private static int send(HttpClient httpClient, String baseUri, String bearerToken, int dice) throws Exception {
+        HttpRequest request;
+        if (dice < 15) {
+            request = HttpRequest.newBuilder(URI.create(baseUri + "/api/events?page=0&size=20")).GET().build();
+        } else if (dice < 19) {
+            request = HttpRequest.newBuilder(URI.create(baseUri + "/api/events"))
+                    .header("Authorization", bearerToken)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(EVENT_JSON))
+                    .build();
+        } else {
+            request = tokenRequest(baseUri);
+        }
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String accessToken(HttpClient httpClient, String baseUri) throws Exception {
+        String body = httpClient.send(tokenRequest(baseUri), HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = ACCESS_TOKEN.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No access token: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static HttpRequest tokenRequest(String baseUri) {
+        String basic = Base64.getEncoder().encodeToString("myApp:pass".getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(URI.create(baseUri + "/oauth/token"))
+                .header("Authorization", "Basic " + basic)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=user@email.com&password=user&grant_type=password"))
+                .build();
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.floor(sorted.size() * p))) / 1_000_000.0;
+    }
+
+    /**
+     * DataSource 를 감싸서 Statement 를 만들 때마다 지연을 넣는다 - DB 왕복 시간이 있는 원격 DB 흉내.
+     */
+    static class SlowDatabase implements BeanPostProcessor {
+
+        private final long latencyMs;
+
+        SlowDatabase(long latencyMs) {
+            this.latencyMs = latencyMs;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource((DataSource) bean) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return slow(super.getConnection());
+                }
+            };
+        }
+
+        private Connection slow(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("prepareStatement") || method.getName().equals("createStatement")) {
+                            Thread.sleep(this.latencyMs);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
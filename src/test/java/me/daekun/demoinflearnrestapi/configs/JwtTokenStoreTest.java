@@ -0,0 +1,160 @@
+package me.daekun.demoinflearnrestapi.configs;
+
+import com.jayway.jsonpath.JsonPath;
+import me.daekun.demoinflearnrestapi.accounts.Account;
+import me.daekun.demoinflearnrestapi.accounts.AccountAdapter;
+import me.daekun.demoinflearnrestapi.accounts.AccountRepository;
+import me.daekun.demoinflearnrestapi.accounts.AccountRole;
+import me.daekun.demoinflearnrestapi.accounts.AccountService;
+import me.daekun.demoinflearnrestapi.accounts.AccountUserAuthenticationConverter;
+import me.daekun.demoinflearnrestapi.common.AppProperties;
+import me.daekun.demoinflearnrestapi.common.BaseControllerTest;
+import me.daekun.demoinflearnrestapi.common.TestDescription;
+import me.daekun.demoinflearnrestapi.events.EventDto;
+import me.daekun.demoinflearnrestapi.events.EventRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "my-app.token-store=jwt",
+        "my-app.jwt-signing-key=" + JwtTokenStoreTest.SIGNING_KEY
+})
+public class JwtTokenStoreTest extends BaseControllerTest {
+
+    static final String SIGNING_KEY = "test-signing-key-0123456789abcdef";
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Autowired
+    TokenStore tokenStore;
+
+    private Account account;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+        this.account = this.accountRepository.findByEmail(this.appProperties.getUserUsername())
+                .orElseGet(() -> this.accountService.saveAccount(Account.builder()
+                        .email(this.appProperties.getUserUsername())
+                        .password(this.appProperties.getUserPassword())
+                        .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                        .build()));
+    }
+
+    @Test
+    @TestDescription("JWT 로 발급한 토큰에 계정 정보가 담기고, 그 토큰으로 이벤트를 만들고 수정하기")
+    public void createAndUpdateWithJwt() throws Exception {
+        // Given
+        assertThat(this.tokenStore).isInstanceOf(JwtTokenStore.class);
+        String accessToken = accessToken();
+        String[] parts = accessToken.split("\\.");
+        assertThat(parts).hasSize(3);
+        String claims = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        assertThat(JsonPath.<Integer>read(claims, "account_id")).isEqualTo(this.account.getId());
+        assertThat(JsonPath.<String>read(claims, "user_name")).isEqualTo(this.account.getEmail());
+
+        // When & Then - 토큰의 claim 으로 만든 계정이 manager 가 된다
+        String content = this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDto("Spring"))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("manager.id").value(this.account.getId()))
+                .andReturn().getResponse().getContentAsString();
+        Integer eventId = JsonPath.read(content, "id");
+
+        this.mockMvc.perform(put("/api/events/{id}", eventId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDto("Updated Event"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Updated Event"));
+    }
+
+    @Test
+    @TestDescription("서명이 맞지 않는 토큰은 401")
+    public void rejectTamperedToken() throws Exception {
+        String accessToken = accessToken();
+        String tampered = accessToken.substring(0, accessToken.length() - 2)
+                + (accessToken.endsWith("AA") ? "BB" : "AA");
+
+        this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tampered)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDto("Spring"))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @TestDescription("같은 키를 쓰는 다른 노드는 저장소 없이 토큰만으로 계정을 알아낸다")
+    public void readTokenOnAnotherNode() throws Exception {
+        String accessToken = accessToken();
+
+        DefaultAccessTokenConverter accessTokenConverter = new DefaultAccessTokenConverter();
+        accessTokenConverter.setUserTokenConverter(new AccountUserAuthenticationConverter());
+        JwtAccessTokenConverter jwtAccessTokenConverter = new JwtAccessTokenConverter();
+        jwtAccessTokenConverter.setAccessTokenConverter(accessTokenConverter);
+        jwtAccessTokenConverter.setSigningKey(SIGNING_KEY);
+        jwtAccessTokenConverter.afterPropertiesSet();
+
+        OAuth2Authentication authentication = new JwtTokenStore(jwtAccessTokenConverter).readAuthentication(accessToken);
+        AccountAdapter principal = (AccountAdapter) authentication.getPrincipal();
+        assertThat(principal.getAccount().getId()).isEqualTo(this.account.getId());
+        assertThat(principal.getAccount().getRoles()).containsExactlyInAnyOrderElementsOf(this.account.getRoles());
+        assertThat(authentication.getOAuth2Request().getClientId()).isEqualTo(this.appProperties.getClientId());
+    }
+
+    private String accessToken() throws Exception {
+        String response = this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic(this.appProperties.getClientId(), this.appProperties.getClientSecret()))
+                .param("username", this.appProperties.getUserUsername())
+                .param("password", this.appProperties.getUserPassword())
+                .param("grant_type", "password"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "access_token");
+    }
+
+    private EventDto eventDto(String name) {
+        return EventDto.builder()
+                .name(name).description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100).maxPrice(200).limitOfEnrollment(100)
+                .location("D2")
+                .build();
+    }
+}
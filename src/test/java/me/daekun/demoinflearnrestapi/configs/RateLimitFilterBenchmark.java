@@ -0,0 +1,102 @@
+package me.daekun.demoinflearnrestapi.configs;
+
+import me.daekun.demoinflearnrestapi.accounts.Account;
+import me.daekun.demoinflearnrestapi.accounts.AccountAdapter;
+import me.daekun.demoinflearnrestapi.accounts.AccountRole;
+import me.daekun.demoinflearnrestapi.common.AppProperties;
+import me.daekun.demoinflearnrestapi.common.TokenBucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 하나마다 RateLimitFilter 가 더하는 비용 - 버킷 하나에서 꺼내기 / 익명(IP) 요청 / OAuth 토큰(계정 + 클라이언트) 요청.
+ * 한도는 걸리지 않을 만큼 크게 잡아서 통과하는 경로만 잰다. 서블릿 체인 자체는 빼고 필터의 판단만 잰다.
+ *
+ * 실행: mvn test-compile 후 main 실행 (JUnit 테스트가 아니므로 mvn test 에는 포함되지 않는다)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private TokenBucket tokenBucket;
+    private RateLimitFilter filter;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletRequest oauth2Request;
+    private OAuth2Authentication authentication;
+
+    @Setup
+    public void setUp() {
+        AppProperties appProperties = new AppProperties();
+        AppProperties.RateLimit unlimited = new AppProperties.RateLimit(1_000_000_000, 1_000_000_000);
+        appProperties.setAccountReadLimit(unlimited);
+        appProperties.setAccountWriteLimit(unlimited);
+        appProperties.setClientReadLimit(unlimited);
+        appProperties.setClientWriteLimit(unlimited);
+
+        this.tokenBucket = new TokenBucket(1_000_000_000, 1_000_000_000);
+        this.filter = new RateLimitFilter(appProperties);
+        this.anonymousRequest = new MockHttpServletRequest("GET", "/api/events");
+        this.anonymousRequest.setRemoteAddr("10.0.0.1");
+        this.oauth2Request = new MockHttpServletRequest("POST", "/api/events");
+
+        Account account = Account.builder().id(1).email("user@email.com").password("pass").roles(Set.of(AccountRole.USER)).build();
+        AccountAdapter principal = new AccountAdapter(account);
+        OAuth2Request request = new OAuth2Request(Collections.emptyMap(), "myApp", principal.getAuthorities(),
+                true, Set.of("read", "write"), Set.of("event"), null, Collections.emptySet(), Collections.emptyMap());
+        this.authentication = new OAuth2Authentication(request,
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public long tokenBucket_tryAcquire() {
+        return this.tokenBucket.tryAcquire(System.nanoTime());
+    }
+
+    @Benchmark
+    public long filter_anonymous() {
+        SecurityContextHolder.clearContext();
+        return this.filter.tryAcquire(this.anonymousRequest, System.nanoTime());
+    }
+
+    @Benchmark
+    public long filter_oauth2() {
+        SecurityContextHolder.getContext().setAuthentication(this.authentication);
+        return this.filter.tryAcquire(this.oauth2Request, System.nanoTime());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RateLimitFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
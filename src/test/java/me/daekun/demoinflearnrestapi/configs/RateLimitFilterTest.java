@@ -0,0 +1,105 @@
+package me.daekun.demoinflearnrestapi.configs;
+
+import me.daekun.demoinflearnrestapi.accounts.Account;
+import me.daekun.demoinflearnrestapi.accounts.AccountAdapter;
+import me.daekun.demoinflearnrestapi.accounts.AccountRole;
+import me.daekun.demoinflearnrestapi.common.AppProperties;
+import me.daekun.demoinflearnrestapi.common.TestDescription;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(appProperties());
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @TestDescription("로그인하지 않은 요청은 IP 마다 세고, 한도를 넘으면 429 와 Retry-After 받기")
+    public void limitAnonymousByIp() throws Exception {
+        assertThat(send("GET", "/api/events", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("GET", "/api/events", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse limited = send("GET", "/api/events", "10.0.0.1");
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("100");
+
+        assertThat(send("GET", "/api/events", "10.0.0.2").getStatus()).isEqualTo(200);
+        // /api 밖은 세지 않는다
+        assertThat(send("GET", "/docs/index.html", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @TestDescription("계정마다 읽기 / 쓰기 한도를 따로 센다")
+    public void limitAccountPerScope() throws Exception {
+        authenticate(1, "myApp");
+        assertThat(send("POST", "/api/events", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/events", "10.0.0.1").getStatus()).isEqualTo(429);
+        // 쓰기 한도를 다 써도 읽기는 된다
+        assertThat(send("GET", "/api/events", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        authenticate(2, "myApp");
+        assertThat(send("POST", "/api/events", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @TestDescription("한 OAuth 클라이언트의 여러 계정을 합쳐서 클라이언트 한도를 넘으면 429, 계정 한도는 쓰지 않는다")
+    public void limitClient() throws Exception {
+        for (int accountId = 1; accountId <= 3; accountId++) {
+            authenticate(accountId, "myApp");
+            assertThat(send("POST", "/api/events", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+        authenticate(4, "myApp");
+        assertThat(send("POST", "/api/events", "10.0.0.1").getStatus()).isEqualTo(429);
+
+        // 다른 클라이언트로는 같은 계정이 아직 쓰기 한도(1)를 쓰지 않았다
+        authenticate(4, "otherApp");
+        assertThat(send("POST", "/api/events", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        this.filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private void authenticate(int accountId, String clientId) {
+        Account account = Account.builder()
+                .id(accountId).email("user" + accountId + "@email.com").password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build();
+        AccountAdapter principal = new AccountAdapter(account);
+        OAuth2Request oauth2Request = new OAuth2Request(Collections.emptyMap(), clientId, principal.getAuthorities(),
+                true, Set.of("read", "write"), Set.of("event"), null, Collections.emptySet(), Collections.emptyMap());
+        SecurityContextHolder.getContext().setAuthentication(new OAuth2Authentication(oauth2Request,
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())));
+    }
+
+    private static AppProperties appProperties() {
+        AppProperties appProperties = new AppProperties();
+        // 테스트 안에서 다시 차지 않도록 아주 느리게 채운다
+        appProperties.setAccountReadLimit(new AppProperties.RateLimit(0.01, 2));
+        appProperties.setAccountWriteLimit(new AppProperties.RateLimit(0.01, 1));
+        appProperties.setClientReadLimit(new AppProperties.RateLimit(0.01, 100));
+        appProperties.setClientWriteLimit(new AppProperties.RateLimit(0.01, 3));
+        return appProperties;
+    }
+}
@@ -0,0 +1,159 @@
+package me.daekun.demoinflearnrestapi.configs;
+
+import me.daekun.demoinflearnrestapi.DemoApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * my-app.token-store 가 in-memory 일 때와 jwt 일 때 인증된 PUT /api/events/{id} 의 처리량 비교.
+ * JMH 가 아니라 애플리케이션을 띄우고 HTTP 로 부하를 주는 main 이다. 클라이언트마다 자기 이벤트를 하나 만들어서 이름을 바꿔가며 PUT 한다
+ * (같은 이벤트를 동시에 고치면 낙관적 락 충돌이 섞이므로).
+ *
+ * 실행: mvn test-compile 후
+ *   java -cp ... me.daekun.demoinflearnrestapi.configs.TokenStoreLoadBenchmark [in-memory|jwt] [clients] [seconds]
+ * 결과는 한 줄 JSON 으로 출력한다.
+ */
+public class TokenStoreLoadBenchmark {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"access_token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern EVENT_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private static final String EVENT_JSON = "{\"name\":\"%s\",\"description\":\"REST API Development with Spring\"," +
+            "\"beginEnrollmentDateTime\":\"2018-11-23T14:21:00\",\"closeEnrollmentDateTime\":\"2018-11-24T14:21:00\"," +
+            "\"beginEventDateTime\":\"2018-11-25T14:21:00\",\"endEventDateTime\":\"2018-11-26T14:21:00\"," +
+            "\"location\":\"D2\",\"basePrice\":100,\"maxPrice\":200,\"limitOfEnrollment\":100}";
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "in-memory";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--my-app.token-store=" + mode,
+                        "--my-app.jwt-signing-key=benchmark-signing-key-0123456789abcdef",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            run(mode, "http://localhost:" + port, clients, seconds);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(String mode, String baseUri, int clients, int seconds) throws Exception {
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(16);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(httpExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String bearerToken = "Bearer " + accessToken(httpClient, baseUri);
+        List<Integer> eventIds = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            eventIds.add(createEvent(httpClient, baseUri, bearerToken));
+        }
+
+        // 워밍업
+        for (int i = 0; i < 500; i++) {
+            update(httpClient, baseUri, bearerToken, eventIds.get(i % clients), i);
+        }
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger errors = new AtomicInteger();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService loadClients = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            Integer eventId = eventIds.get(c);
+            loadClients.execute(() -> {
+                List<Long> local = new ArrayList<>();
+                int n = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        if (update(httpClient, baseUri, bearerToken, eventId, n++) != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    local.add(System.nanoTime() - start);
+                }
+                latencies.addAll(local);
+            });
+        }
+        loadClients.shutdown();
+        loadClients.awaitTermination(seconds + 60, TimeUnit.SECONDS);
+        httpExecutor.shutdown();
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("{\"tokenStore\":\"%s\",\"clients\":%d,\"seconds\":%d,\"requests\":%d,\"errors\":%d," +
+                        "\"throughput\":%.1f,\"p50Ms\":%.2f,\"p99Ms\":%.2f}%n",
+                mode, clients, seconds, sorted.size(), errors.get(),
+                sorted.size() / (double) seconds, percentile(sorted, 0.50), percentile(sorted, 0.99));
+    }
+
+    private static int update(HttpClient httpClient, String baseUri, String bearerToken, Integer eventId, int n) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + "/api/events/" + eventId))
+                .header("Authorization", bearerToken)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(String.format(EVENT_JSON, "Spring " + n)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static Integer createEvent(HttpClient httpClient, String baseUri, String bearerToken) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + "/api/events"))
+                .header("Authorization", bearerToken)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(String.format(EVENT_JSON, "Spring")))
+                .build();
+        return Integer.valueOf(group(EVENT_ID, httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body()));
+    }
+
+    private static String accessToken(HttpClient httpClient, String baseUri) throws Exception {
+        String basic = Base64.getEncoder().encodeToString("myApp:pass".getBytes(StandardCharsets.UTF_8));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + "/oauth/token"))
+                .header("Authorization", "Basic " + basic)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=user@email.com&password=user&grant_type=password"))
+                .build();
+        return group(ACCESS_TOKEN, httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    private static String group(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected response: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.floor(sorted.size() * p))) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,214 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import me.daekun.demoinflearnrestapi.accounts.Account;
+import me.daekun.demoinflearnrestapi.accounts.AccountRepository;
+import me.daekun.demoinflearnrestapi.common.TestDescription;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여러 스레드가 한 이벤트에 동시에 참가 신청해도 limitOfEnrollment 를 넘지 않는지 확인하는 스트레스 테스트.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EnrollmentServiceTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    private final List<Event> events = new ArrayList<>();
+    private final List<Account> accounts = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        // 참가 신청은 on delete cascade 로 같이 지워진다
+        this.eventRepository.deleteAll(this.events);
+        this.accountRepository.deleteAll(this.accounts);
+    }
+
+    @Test
+    @TestDescription("자리보다 많은 계정이 동시에 신청해도 자리 수만큼만 신청된다")
+    public void noOversell() throws Exception {
+        // Given
+        Event event = event(25);
+        List<Account> enrollees = accounts(300);
+
+        // When
+        Map<EnrollmentService.Result, Integer> results = runConcurrently(enrollees.size(),
+                i -> this.enrollmentService.enroll(event.getId(), enrollees.get(i)));
+
+        // Then
+        assertThat(results.get(EnrollmentService.Result.ENROLLED)).isEqualTo(25);
+        assertThat(results.get(EnrollmentService.Result.SOLD_OUT)).isEqualTo(275);
+        assertThat(this.eventRepository.findById(event.getId()).get().getEnrolledCount()).isEqualTo(25);
+        assertThat(this.enrollmentRepository.countByEvent_Id(event.getId())).isEqualTo(25);
+    }
+
+    @Test
+    @TestDescription("신청과 취소가 섞여도 enrolledCount 가 실제 신청 수와 같고 자리 수를 넘지 않는다")
+    public void enrollAndCancelConcurrently() throws Exception {
+        // Given - 앞의 10 명은 이미 신청해 두고 동시에 취소한다
+        Event event = event(10);
+        List<Account> enrollees = accounts(200);
+        for (int i = 0; i < 10; i++) {
+            assertThat(this.enrollmentService.enroll(event.getId(), enrollees.get(i))).isEqualTo(EnrollmentService.Result.ENROLLED);
+        }
+
+        // When
+        Map<EnrollmentService.Result, Integer> results = runConcurrently(enrollees.size(), i -> i < 10
+                ? this.enrollmentService.cancel(event.getId(), enrollees.get(i))
+                : this.enrollmentService.enroll(event.getId(), enrollees.get(i)));
+
+        // Then
+        assertThat(results.get(EnrollmentService.Result.CANCELLED)).isEqualTo(10);
+        int enrolledCount = this.eventRepository.findById(event.getId()).get().getEnrolledCount();
+        assertThat(enrolledCount).isLessThanOrEqualTo(10)
+                .isEqualTo(results.get(EnrollmentService.Result.ENROLLED))
+                .isEqualTo((int) this.enrollmentRepository.countByEvent_Id(event.getId()));
+    }
+
+    @Test
+    @TestDescription("같은 계정이 동시에 여러 번 신청해도 한 번만 신청된다")
+    public void sameAccountEnrollsOnce() throws Exception {
+        // Given
+        Event event = event(10);
+        Account account = accounts(1).get(0);
+
+        // When
+        Map<EnrollmentService.Result, Integer> results = runConcurrently(50,
+                i -> this.enrollmentService.enroll(event.getId(), account));
+
+        // Then
+        assertThat(results.get(EnrollmentService.Result.ENROLLED)).isEqualTo(1);
+        assertThat(results.get(EnrollmentService.Result.ALREADY_ENROLLED)).isEqualTo(49);
+        assertThat(this.eventRepository.findById(event.getId()).get().getEnrolledCount()).isEqualTo(1);
+    }
+
+    @Test
+    @TestDescription("모집 기간이어도 BEGAN_ENROLLMENT 상태가 아니면 자리를 잡지 않는다")
+    public void rejectDraftEvent() {
+        // Given
+        Event event = event(10, EventStatus.DRAFT);
+        Account account = accounts(1).get(0);
+
+        // When
+        EnrollmentService.Result result = this.enrollmentService.enroll(event.getId(), account);
+
+        // Then
+        assertThat(result).isEqualTo(EnrollmentService.Result.NOT_ENROLLING);
+        assertThat(this.eventRepository.findById(event.getId()).get().getEnrolledCount()).isZero();
+        assertThat(this.enrollmentRepository.countByEvent_Id(event.getId())).isZero();
+    }
+
+    @Test
+    @TestDescription("캐시된 이벤트가 모집 중이어도 DB 의 상태가 바뀌었으면 자리를 잡지 않는다")
+    public void rejectWhenStatusChangedBehindCache() {
+        // Given - 캐시를 채운 다음 캐시를 거치지 않고 상태를 되돌린다
+        Event event = event(10);
+        this.eventService.findById(event.getId());
+        Event stored = this.eventRepository.findById(event.getId()).get();
+        stored.setEventStatus(EventStatus.PUBLISHED);
+        this.events.set(this.events.size() - 1, this.eventRepository.save(stored));
+        Account account = accounts(1).get(0);
+
+        // When
+        EnrollmentService.Result result = this.enrollmentService.enroll(event.getId(), account);
+
+        // Then
+        assertThat(result).isEqualTo(EnrollmentService.Result.NOT_ENROLLING);
+        assertThat(this.eventRepository.findById(event.getId()).get().getEnrolledCount()).isZero();
+    }
+
+    private Map<EnrollmentService.Result, Integer> runConcurrently(int requests, Request request) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<EnrollmentService.Result>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            Callable<EnrollmentService.Result> task = () -> {
+                start.await();
+                return request.send(index);
+            };
+            futures.add(executor.submit(task));
+        }
+        start.countDown();
+
+        Map<EnrollmentService.Result, Integer> results = new EnumMap<>(EnrollmentService.Result.class);
+        for (EnrollmentService.Result result : EnrollmentService.Result.values()) {
+            results.put(result, 0);
+        }
+        for (Future<EnrollmentService.Result> future : futures) {
+            results.merge(future.get(60, TimeUnit.SECONDS), 1, Integer::sum);
+        }
+        executor.shutdown();
+        return results;
+    }
+
+    private Event event(int limitOfEnrollment) {
+        return event(limitOfEnrollment, EventStatus.BEGAN_ENROLLMENT);
+    }
+
+    private Event event(int limitOfEnrollment, EventStatus eventStatus) {
+        LocalDateTime now = LocalDateTime.now();
+        Event event = Event.builder()
+                .name("Spring").description("REST API Development with Spring")
+                .beginEnrollmentDateTime(now.minusDays(1))
+                .closeEnrollmentDateTime(now.plusDays(1))
+                .beginEventDateTime(now.plusDays(2))
+                .endEventDateTime(now.plusDays(3))
+                .limitOfEnrollment(limitOfEnrollment)
+                .eventStatus(eventStatus)
+                .build();
+        Event saved = this.eventService.save(event);
+        this.events.add(saved);
+        return saved;
+    }
+
+    private List<Account> accounts(int count) {
+        List<Account> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            created.add(Account.builder().email("enrollee-" + this.accounts.size() + "-" + i + "@email.com").password("pass").build());
+        }
+        List<Account> saved = this.accountRepository.saveAll(created);
+        this.accounts.addAll(saved);
+        return saved;
+    }
+
+    private interface Request {
+        EnrollmentService.Result send(int index);
+    }
+}
@@ -0,0 +1,129 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import me.daekun.demoinflearnrestapi.DemoApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 같은 수의 이벤트를 POST /api/events 로 하나씩 만들 때와 POST /api/events/batch 로 묶어서 만들 때의 처리량 비교.
+ * JMH 가 아니라 애플리케이션을 띄우고 HTTP 로 보내는 main 이다. 배치는 my-app.event-batch-max-items 건씩 나눠 보낸다.
+ *
+ * 실행: mvn test-compile 후
+ *   java -cp ... me.daekun.demoinflearnrestapi.events.EventBatchLoadBenchmark [events] [rounds]
+ * 라운드마다 결과를 한 줄 JSON 으로 출력한다.
+ */
+public class EventBatchLoadBenchmark {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"access_token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern CREATED = Pattern.compile("\"created\"\\s*:\\s*(\\d+)");
+    private static final int MAX_ITEMS = 1000;
+
+    private static final String EVENT_JSON = "{\"name\":\"%s\",\"description\":\"REST API Development with Spring\"," +
+            "\"beginEnrollmentDateTime\":\"2018-11-23T14:21:00\",\"closeEnrollmentDateTime\":\"2018-11-24T14:21:00\"," +
+            "\"beginEventDateTime\":\"2018-11-25T14:21:00\",\"endEventDateTime\":\"2018-11-26T14:21:00\"," +
+            "\"location\":\"D2\",\"basePrice\":100,\"maxPrice\":200,\"limitOfEnrollment\":100}";
+
+    public static void main(String[] args) throws Exception {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--my-app.event-batch-max-items=" + MAX_ITEMS,
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            run("http://localhost:" + port, events, rounds);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(String baseUri, int events, int rounds) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        String bearerToken = "Bearer " + accessToken(httpClient, baseUri);
+
+        // 워밍업
+        oneByOne(httpClient, baseUri, bearerToken, 200);
+        batch(httpClient, baseUri, bearerToken, 200);
+
+        for (int round = 1; round <= rounds; round++) {
+            long start = System.nanoTime();
+            oneByOne(httpClient, baseUri, bearerToken, events);
+            double oneByOneSeconds = (System.nanoTime() - start) / 1e9;
+
+            start = System.nanoTime();
+            batch(httpClient, baseUri, bearerToken, events);
+            double batchSeconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("{\"round\":%d,\"events\":%d,\"oneByOnePerSecond\":%.1f,\"batchPerSecond\":%.1f}%n",
+                    round, events, events / oneByOneSeconds, events / batchSeconds);
+        }
+    }
+
+    private static void oneByOne(HttpClient httpClient, String baseUri, String bearerToken, int events) throws Exception {
+        for (int i = 0; i < events; i++) {
+            HttpResponse<Void> response = httpClient.send(post(baseUri + "/api/events", bearerToken,
+                    String.format(EVENT_JSON, "Spring " + i)), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Unexpected status: " + response.statusCode());
+            }
+        }
+    }
+
+    private static void batch(HttpClient httpClient, String baseUri, String bearerToken, int events) throws Exception {
+        for (int from = 0; from < events; from += MAX_ITEMS) {
+            int to = Math.min(from + MAX_ITEMS, events);
+            StringJoiner body = new StringJoiner(",", "[", "]");
+            for (int i = from; i < to; i++) {
+                body.add(String.format(EVENT_JSON, "Spring " + i));
+            }
+            String response = httpClient.send(post(baseUri + "/api/events/batch", bearerToken, body.toString()),
+                    HttpResponse.BodyHandlers.ofString()).body();
+            if (Integer.parseInt(group(CREATED, response)) != to - from) {
+                throw new IllegalStateException("Unexpected response: " + response);
+            }
+        }
+    }
+
+    private static HttpRequest post(String uri, String bearerToken, String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Authorization", bearerToken)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String accessToken(HttpClient httpClient, String baseUri) throws Exception {
+        String basic = Base64.getEncoder().encodeToString("myApp:pass".getBytes(StandardCharsets.UTF_8));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + "/oauth/token"))
+                .header("Authorization", "Basic " + basic)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=user@email.com&password=user&grant_type=password"))
+                .build();
+        return group(ACCESS_TOKEN, httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    private static String group(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected response: " + body);
+        }
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,195 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import me.daekun.demoinflearnrestapi.common.AppProperties;
+import me.daekun.demoinflearnrestapi.common.LinkFactory;
+import me.daekun.demoinflearnrestapi.common.TestDescription;
+import org.junit.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventChangeFeedTest {
+
+    @Test
+    @TestDescription("링에 남아 있는 변경은 순번 다음부터 순서대로 돌려준다")
+    public void changesAfter() {
+        EventChangeFeed feed = feed(4);
+        feed.append(EventChangeFeed.CREATED, 10);
+        feed.append(EventChangeFeed.UPDATED, 10);
+        feed.append(EventChangeFeed.CREATED, 11);
+
+        assertThat(sequences(feed.changesAfter(0, 64))).containsExactly(1L, 2L, 3L);
+        assertThat(sequences(feed.changesAfter(1, 64))).containsExactly(2L, 3L);
+        assertThat(sequences(feed.changesAfter(0, 2))).containsExactly(1L, 2L);
+        assertThat(feed.changesAfter(3, 64)).isEmpty();
+        assertThat(feed.changesAfter(1, 64).get(0).type).isEqualTo(EventChangeFeed.UPDATED);
+    }
+
+    @Test
+    @TestDescription("링에서 밀려난 순번이나 준 적 없는 순번은 resync 해야 한다")
+    public void overwrittenOrUnknownSequence() {
+        EventChangeFeed feed = feed(4);
+        for (int i = 1; i <= 6; i++) {
+            feed.append(EventChangeFeed.CREATED, i);
+        }
+
+        // 3..6 만 남아 있다
+        assertThat(feed.changesAfter(1, 64)).isNull();
+        assertThat(sequences(feed.changesAfter(2, 64))).containsExactly(3L, 4L, 5L, 6L);
+        assertThat(feed.changesAfter(7, 64)).isNull();
+        assertThat(feed.changesAfter(-1, 64)).isNull();
+    }
+
+    @Test
+    @TestDescription("읽지 않는 구독자는 send-timeout 이 지나면 내보내고, 다른 구독자는 계속 변경을 받는다")
+    public void stalledSubscriberIsEvicted() throws Exception {
+        // Given - 전송 스레드가 하나뿐이라 막힌 구독자가 붙잡고 있으면 다른 구독자는 아무것도 받지 못한다
+        AppProperties appProperties = new AppProperties();
+        appProperties.setChangeFeedSenders(1);
+        appProperties.setChangeFeedSendTimeout(Duration.ofMillis(200));
+        EventChangeFeed feed = new EventChangeFeed(appProperties);
+        feed.start();
+        try {
+            EventLinks links = EventLinks.of(LinkFactory.forBaseUri("http://localhost:8080"));
+            StalledEmitter stalled = new StalledEmitter();
+            RecordingEmitter healthy = new RecordingEmitter();
+            feed.subscribe(stalled, null, links);
+
+            // When
+            feed.append(EventChangeFeed.CREATED, 10);
+            assertThat(stalled.sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            // 처음부터 받도록 순번 0 에서 이어 받는다
+            feed.subscribe(healthy, feed.eventId(0), links);
+            feed.append(EventChangeFeed.UPDATED, 10);
+
+            // Then
+            assertThat(healthy.sent.poll(5, TimeUnit.SECONDS)).isNotNull();
+            assertThat(healthy.sent.poll(5, TimeUnit.SECONDS)).isNotNull();
+            assertThat(feed.subscriberCount()).isEqualTo(1);
+            assertThat(feed.senderThreads()).isEqualTo(2);
+
+            // 막힌 send 가 돌아오면 연결을 에러로 끝내고 전송 스레드 수를 되돌린다
+            stalled.release.countDown();
+            assertThat(stalled.error.poll(5, TimeUnit.SECONDS)).isInstanceOf(IOException.class);
+            assertThat(feed.senderThreads()).isEqualTo(1);
+
+            feed.append(EventChangeFeed.UPDATED, 11);
+            assertThat(healthy.sent.poll(5, TimeUnit.SECONDS)).isNotNull();
+            assertThat(stalled.sends).isEqualTo(1);
+        } finally {
+            feed.stop();
+        }
+    }
+
+    @Test
+    @TestDescription("막힌 전송이 많아도 전송 스레드는 max-senders 까지만 늘리고, 모두 막혀 있으면 새 구독자를 끊는다")
+    public void senderPoolIsCapped() throws Exception {
+        // Given - 전송 스레드 1개에서 2개까지만 늘릴 수 있다
+        AppProperties appProperties = new AppProperties();
+        appProperties.setChangeFeedSenders(1);
+        appProperties.setChangeFeedMaxSenders(2);
+        appProperties.setChangeFeedSendTimeout(Duration.ofMillis(200));
+        EventChangeFeed feed = new EventChangeFeed(appProperties);
+        feed.start();
+        try {
+            EventLinks links = EventLinks.of(LinkFactory.forBaseUri("http://localhost:8080"));
+            StalledEmitter first = new StalledEmitter();
+            StalledEmitter second = new StalledEmitter();
+            feed.subscribe(first, null, links);
+            feed.append(EventChangeFeed.CREATED, 10);
+            assertThat(first.sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            feed.subscribe(second, feed.eventId(0), links);
+            assertThat(second.sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            awaitSubscriberCount(feed, 0);
+
+            // When - 두 스레드가 모두 막힌 상태에서 구독한다
+            RecordingEmitter late = new RecordingEmitter();
+            feed.subscribe(late, feed.eventId(0), links);
+
+            // Then
+            assertThat(late.error.poll(5, TimeUnit.SECONDS)).isInstanceOf(IOException.class);
+            assertThat(late.sent).isEmpty();
+            assertThat(feed.subscriberCount()).isZero();
+            assertThat(feed.senderThreads()).isEqualTo(2);
+
+            // 막힌 send 가 돌아오면 스레드 수를 되돌리고 다시 보낼 수 있다
+            first.release.countDown();
+            second.release.countDown();
+            assertThat(first.error.poll(5, TimeUnit.SECONDS)).isInstanceOf(IOException.class);
+            assertThat(second.error.poll(5, TimeUnit.SECONDS)).isInstanceOf(IOException.class);
+            assertThat(feed.senderThreads()).isEqualTo(1);
+
+            RecordingEmitter healthy = new RecordingEmitter();
+            feed.subscribe(healthy, feed.eventId(0), links);
+            assertThat(healthy.sent.poll(5, TimeUnit.SECONDS)).isNotNull();
+        } finally {
+            feed.stop();
+        }
+    }
+
+    private void awaitSubscriberCount(EventChangeFeed feed, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (feed.subscriberCount() != count && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+        assertThat(feed.subscriberCount()).isEqualTo(count);
+    }
+
+    private EventChangeFeed feed(int capacity) {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setChangeFeedCapacity(capacity);
+        return new EventChangeFeed(appProperties);
+    }
+
+    // 읽지 않는 클라이언트 - 첫 send 가 release 될 때까지 돌아오지 않는다
+    private static class StalledEmitter extends SseEmitter {
+        final CountDownLatch sendStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final BlockingQueue<Throwable> error = new LinkedBlockingQueue<>();
+        volatile int sends;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            this.sends++;
+            this.sendStarted.countDown();
+            try {
+                this.release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            this.error.add(ex);
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        final BlockingQueue<SseEventBuilder> sent = new LinkedBlockingQueue<>();
+        final BlockingQueue<Throwable> error = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            this.sent.add(builder);
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            this.error.add(ex);
+        }
+    }
+
+    private List<Long> sequences(List<EventChangeFeed.Change> changes) {
+        return changes.stream().map(change -> change.sequence).collect(Collectors.toList());
+    }
+}
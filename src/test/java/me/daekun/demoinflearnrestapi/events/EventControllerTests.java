@@ -1,5 +1,6 @@
 package me.daekun.demoinflearnrestapi.events;
 
+import com.jayway.jsonpath.JsonPath;
 import me.daekun.demoinflearnrestapi.accounts.Account;
 import me.daekun.demoinflearnrestapi.accounts.AccountRepository;
 import me.daekun.demoinflearnrestapi.accounts.AccountRole;
@@ -7,6 +8,8 @@ import me.daekun.demoinflearnrestapi.accounts.AccountService;
 import me.daekun.demoinflearnrestapi.common.AppProperties;
 import me.daekun.demoinflearnrestapi.common.BaseControllerTest;
 import me.daekun.demoinflearnrestapi.common.TestDescription;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,11 +19,25 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.MvcResult;
 
+import javax.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
 import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.restdocs.headers.HeaderDocumentation.*;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
@@ -46,6 +63,18 @@ public class EventControllerTests extends BaseControllerTest {
     @Autowired
     AppProperties appProperties;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    EventStatsCounter eventStatsCounter;
+
+    @Autowired
+    EnrollmentService enrollmentService;
+
     @Before
     public void setUp() {
         this.eventRepository.deleteAll();
@@ -157,6 +186,180 @@ public class EventControllerTests extends BaseControllerTest {
         return parser.parseMap(responseBody).get("access_token").toString();
     }
 
+    @Test
+    @TestDescription("여러 이벤트를 한번에 생성하고 잘못된 항목은 에러로 받기")
+    public void createEvents() throws Exception {
+        List<EventDto> eventDtos = new ArrayList<>();
+        IntStream.range(0, 120).forEach(i -> eventDtos.add(EventDto.builder()
+                .name("Spring " + i).description("REST API Development")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 11, 10, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2021, 11, 11, 11, 11))
+                .beginEventDateTime(LocalDateTime.of(2020, 11, 11, 11, 11))
+                .endEventDateTime(LocalDateTime.of(2022, 12, 11, 11, 11))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("D2")
+                .build()));
+        eventDtos.get(1).setBasePrice(10000); // EventValidator 에러
+        eventDtos.get(7).setName(""); // Bean Validation 에러
+
+        this.mockMvc.perform(post("/api/events/batch")
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(this.objectMapper.writeValueAsString(eventDtos)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("created").value(118))
+                .andExpect(jsonPath("failed").value(2))
+                .andExpect(jsonPath("results[0].id").exists())
+                .andExpect(jsonPath("results[1].index").value(1))
+                .andExpect(jsonPath("results[1].id").doesNotExist())
+                .andExpect(jsonPath("results[1].errors[0].code").exists())
+                .andExpect(jsonPath("results[7].errors[0].field").value("name"))
+                .andExpect(jsonPath("_links.query-events").exists())
+                .andExpect(jsonPath("_links.profile").exists());
+
+        assertThat(this.eventRepository.count()).isEqualTo(118);
+    }
+
+    @Test
+    @TestDescription("저장에 실패한 청크의 항목은 persistenceFailed 로 받고 나머지 청크는 저장하기")
+    public void createEvents_ChunkFailure() throws Exception {
+        List<EventDto> eventDtos = new ArrayList<>();
+        IntStream.range(0, 120).forEach(i -> eventDtos.add(generateEventDto(i)));
+        eventDtos.get(60).setName("S".repeat(300)); // 검증은 통과하지만 컬럼 길이(255)를 넘어서 insert 에서 실패
+
+        this.mockMvc.perform(post("/api/events/batch")
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(this.objectMapper.writeValueAsString(eventDtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("created").value(70))
+                .andExpect(jsonPath("failed").value(50))
+                .andExpect(jsonPath("results[49].id").exists())
+                .andExpect(jsonPath("results[50].errors[0].code").value("persistenceFailed"))
+                .andExpect(jsonPath("results[99].errors[0].code").value("persistenceFailed"))
+                .andExpect(jsonPath("results[100].id").exists());
+
+        assertThat(this.eventRepository.count()).isEqualTo(70);
+    }
+
+    @Test
+    @TestDescription("my-app.event-batch-max-items 보다 많은 이벤트를 한번에 보내면 400 받기")
+    public void createEvents_TooLarge() throws Exception {
+        int maxItems = this.appProperties.getEventBatchMaxItems();
+        this.appProperties.setEventBatchMaxItems(10);
+        try {
+            List<EventDto> eventDtos = new ArrayList<>();
+            IntStream.range(0, 11).forEach(i -> eventDtos.add(generateEventDto(i)));
+
+            this.mockMvc.perform(post("/api/events/batch")
+                        .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(this.objectMapper.writeValueAsString(eventDtos)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("errors[0].code").value("batchTooLarge"));
+
+            assertThat(this.eventRepository.count()).isZero();
+        } finally {
+            this.appProperties.setEventBatchMaxItems(maxItems);
+        }
+    }
+
+    @Test
+    @TestDescription("본문이 깨졌거나 빈 배열을 보내면 에러 목록과 함께 400 받기")
+    public void createEvents_MalformedOrEmpty() throws Exception {
+        String bearerToken = getBearerToken();
+
+        this.mockMvc.perform(post("/api/events/batch")
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content("[{\"name\": \"broken\", "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("malformedBatch"))
+                .andExpect(jsonPath("_links.index").exists());
+
+        this.mockMvc.perform(post("/api/events/batch")
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("emptyBatch"))
+                .andExpect(jsonPath("_links.index").exists());
+    }
+
+    @Test
+    @TestDescription("120개의 이벤트를 NDJSON 으로 가져오면서 잘못된 줄은 줄 번호와 에러로 받기")
+    public void importEvents() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 120; i++) {
+            EventDto eventDto = generateEventDto(i);
+            if (i == 1) {
+                eventDto.setBasePrice(10000); // EventValidator 에러
+            }
+            if (i == 7) {
+                eventDto.setName(""); // Bean Validation 에러
+            }
+            String line = this.objectMapper.writeValueAsString(eventDto);
+            if (i == 60) {
+                line = line.replace("\"limitOfEnrollment\":100", "\"limitOfEnrollment\":\"many\""); // 타입 에러
+            }
+            ndjson.append(line).append('\n');
+        }
+
+        String body = this.mockMvc.perform(post("/api/events/import")
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .content(ndjson.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(121);
+        assertThat(JsonPath.<Integer>read(lines[0], "$.line")).isEqualTo(1);
+        assertThat(JsonPath.<Integer>read(lines[0], "$.id")).isNotNull();
+        assertThat(JsonPath.<Integer>read(lines[1], "$.line")).isEqualTo(2);
+        assertThat(JsonPath.<String>read(lines[1], "$.errors[0].code")).isEqualTo("wrongValue");
+        assertThat(JsonPath.<String>read(lines[7], "$.errors[0].field")).isEqualTo("name");
+        assertThat(JsonPath.<String>read(lines[60], "$.errors[0].code")).isEqualTo("invalidValue");
+        assertThat(JsonPath.<Integer>read(lines[120], "$.created")).isEqualTo(117);
+        assertThat(JsonPath.<Integer>read(lines[120], "$.failed")).isEqualTo(3);
+        assertThat(JsonPath.<Boolean>read(lines[120], "$.completed")).isTrue();
+        assertThat(this.eventRepository.count()).isEqualTo(117);
+    }
+
+    @Test
+    @TestDescription("Accept 가 NDJSON 일 때 문법이 깨진 줄에서 멈추고 앞의 이벤트는 저장하기")
+    public void importEvents_Malformed() throws Exception {
+        String ndjson = this.objectMapper.writeValueAsString(generateEventDto(0)) + "\n"
+                + this.objectMapper.writeValueAsString(generateEventDto(1)) + "\n"
+                + "{\"name\": \"broken\", \n"
+                + this.objectMapper.writeValueAsString(generateEventDto(3)) + "\n";
+
+        String body = this.mockMvc.perform(post("/api/events/import")
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(JsonPath.<String>read(lines[2], "$.errors[0].code")).isEqualTo("malformedJson");
+        assertThat(JsonPath.<Integer>read(lines[3], "$.created")).isEqualTo(2);
+        assertThat(JsonPath.<Boolean>read(lines[3], "$.completed")).isFalse();
+        assertThat(this.eventRepository.count()).isEqualTo(2);
+    }
+
     @Test
     @TestDescription("입력 받을 수 없는 값을 사용한 경우에 에러가 발생하는 테스트")
     public void createEvent_Bad_Request() throws Exception {
@@ -266,6 +469,657 @@ public class EventControllerTests extends BaseControllerTest {
                 .andDo(document("query-events"));
     }
 
+    @Test
+    @TestDescription("상태와 가격 범위로 이벤트 목록 필터링하기")
+    public void queryEventsWithFilter() throws Exception {
+        // Given
+        IntStream.range(0, 10).forEach(this::generateEvent);
+        Event published = this.generateEvent(100);
+        published.setEventStatus(EventStatus.PUBLISHED);
+        published.setBasePrice(5000);
+        published.setMaxPrice(10000);
+        this.eventRepository.save(published);
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events")
+                    .param("eventStatus", "PUBLISHED")
+                    .param("offline", "true")
+                    .param("basePriceMin", "1000")
+                    .param("beginFrom", "2020-01-01T00:00:00")
+                    .param("endTo", "2023-01-01T00:00:00"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(1))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(published.getId()))
+                .andDo(document("query-events-with-filter"));
+
+        this.mockMvc.perform(get("/api/events")
+                    .param("eventStatus", "DRAFT")
+                    .param("free", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(0));
+    }
+
+    @Test
+    @TestDescription("30개의 이벤트를 전체 개수 없이 10개씩 두번째 페이지 조회하기")
+    public void queryEventsWithoutCount() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events?count=false&page=1&size=10&sort=name,DESC"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.size").value(10))
+                .andExpect(jsonPath("page.number").value(1))
+                .andExpect(jsonPath("page.totalElements").doesNotExist())
+                .andExpect(jsonPath("page.totalPages").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.next.href").value(containsString("page=2")))
+                .andExpect(jsonPath("_links.prev.href").value(containsString("page=0")))
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("query-events-without-count"));
+
+        this.mockMvc.perform(get("/api/events?count=false&page=2&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.next").doesNotExist());
+    }
+
+    @Test
+    @TestDescription("30개의 이벤트를 커서로 10개씩 끝까지 조회하고 이전 페이지로 돌아오기")
+    public void queryEventsByCursor() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When & Then
+        String firstPage = this.mockMvc.perform(get("/api/events?cursor=&size=10"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").doesNotExist())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("query-events-by-cursor"))
+                .andReturn().getResponse().getContentAsString();
+
+        String secondPage = this.mockMvc.perform(get(JsonPath.<String>read(firstPage, "_links.next.href")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.prev").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        String thirdPage = this.mockMvc.perform(get(JsonPath.<String>read(secondPage, "_links.next.href")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.next").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Integer> ids = new ArrayList<>();
+        ids.addAll(JsonPath.read(firstPage, "_embedded.eventList[*].id"));
+        ids.addAll(JsonPath.read(secondPage, "_embedded.eventList[*].id"));
+        ids.addAll(JsonPath.read(thirdPage, "_embedded.eventList[*].id"));
+        assertThat(ids).hasSize(30).doesNotHaveDuplicates().isSorted();
+
+        String backToSecond = this.mockMvc.perform(get(JsonPath.<String>read(thirdPage, "_links.prev.href")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").exists())
+                .andReturn().getResponse().getContentAsString();
+        List<Integer> secondIds = JsonPath.read(secondPage, "_embedded.eventList[*].id");
+        assertThat(JsonPath.<List<Integer>>read(backToSecond, "_embedded.eventList[*].id")).isEqualTo(secondIds);
+    }
+
+    @Test
+    @TestDescription("cursor 와 count=false 를 같이 보내면 커서로 조회하기")
+    public void queryEventsByCursorWithoutCount() throws Exception {
+        // Given
+        IntStream.range(0, 15).forEach(this::generateEvent);
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events?cursor=&count=false&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.next.href").value(containsString("cursor=")));
+    }
+
+    @Test
+    @TestDescription("잘못된 커서로 조회하면 400 받기")
+    public void queryEventsByCursor_Bad_Request() throws Exception {
+        this.mockMvc.perform(get("/api/events").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @TestDescription("전체 개수 없이 조회할 때도 필터 조건 적용하기")
+    public void queryEventsWithoutCountWithFilter() throws Exception {
+        // Given
+        List<Integer> publishedIds = generateDraftAndPublishedEvents(20, 15);
+
+        // When & Then
+        String firstPage = this.mockMvc.perform(get("/api/events?count=false&eventStatus=PUBLISHED&size=10&sort=id,ASC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.next.href").value(containsString("eventStatus=PUBLISHED")))
+                .andReturn().getResponse().getContentAsString();
+
+        String secondPage = this.mockMvc.perform(get(JsonPath.<String>read(firstPage, "_links.next.href")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(5))
+                .andExpect(jsonPath("_links.next").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Integer> ids = new ArrayList<>();
+        ids.addAll(JsonPath.read(firstPage, "_embedded.eventList[*].id"));
+        ids.addAll(JsonPath.read(secondPage, "_embedded.eventList[*].id"));
+        assertThat(ids).isEqualTo(publishedIds);
+    }
+
+    @Test
+    @TestDescription("커서로 조회할 때도 필터 조건 적용하기")
+    public void queryEventsByCursorWithFilter() throws Exception {
+        // Given
+        List<Integer> publishedIds = generateDraftAndPublishedEvents(20, 15);
+
+        // When & Then
+        String firstPage = this.mockMvc.perform(get("/api/events?cursor=&eventStatus=PUBLISHED&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.next.href").value(containsString("eventStatus=PUBLISHED")))
+                .andReturn().getResponse().getContentAsString();
+
+        String secondPage = this.mockMvc.perform(get(JsonPath.<String>read(firstPage, "_links.next.href")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(5))
+                .andExpect(jsonPath("_links.next").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Integer> ids = new ArrayList<>();
+        ids.addAll(JsonPath.read(firstPage, "_embedded.eventList[*].id"));
+        ids.addAll(JsonPath.read(secondPage, "_embedded.eventList[*].id"));
+        assertThat(ids).isEqualTo(publishedIds);
+
+        String backToFirst = this.mockMvc.perform(get(JsonPath.<String>read(secondPage, "_links.prev.href")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(JsonPath.<List<Integer>>read(backToFirst, "_embedded.eventList[*].id"))
+                .isEqualTo(publishedIds.subList(0, 10));
+    }
+
+    // DRAFT 와 PUBLISHED 이벤트를 번갈아 만들고 PUBLISHED 이벤트의 id 를 만든 순서대로 돌려준다 (published <= drafts)
+    private List<Integer> generateDraftAndPublishedEvents(int drafts, int published) {
+        List<Integer> publishedIds = new ArrayList<>();
+        for (int i = 0; i < drafts + published; i++) {
+            Event event = this.generateEvent(i);
+            if (i % 2 == 1 && publishedIds.size() < published) {
+                event.setEventStatus(EventStatus.PUBLISHED);
+                publishedIds.add(this.eventRepository.save(event).getId());
+            }
+        }
+        return publishedIds;
+    }
+
+    @Test
+    @TestDescription("키워드로 이벤트를 관련도 순으로 검색하기")
+    public void searchEvents() throws Exception {
+        // Given
+        Event both = generateEvent(builder -> builder.name("Kotlin Coroutines 입문").description("코루틴 기초").eventStatus(EventStatus.PUBLISHED));
+        Event nameOnly = generateEvent(builder -> builder.name("Spring with Kotlin").eventStatus(EventStatus.PUBLISHED));
+        Event descriptionOnly = generateEvent(builder -> builder.description("Kotlin 으로 작성하는 REST API").eventStatus(EventStatus.PUBLISHED));
+        generateEvent(builder -> builder.name("Java").description("JPA").eventStatus(EventStatus.PUBLISHED));
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/search?q=kotlin coroutines&page=0&size=2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(3))
+                .andExpect(jsonPath("page.size").value(2))
+                .andExpect(jsonPath("_embedded.eventList.length()").value(2))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(both.getId()))
+                .andExpect(jsonPath("_embedded.eventList[1].id").value(nameOnly.getId()))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("search-events"));
+
+        this.mockMvc.perform(get("/api/events/search?q=KOTLIN&page=1&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(descriptionOnly.getId()));
+
+        // 수정하면 다시 색인된다
+        both.setName("Scala");
+        this.eventService.save(both);
+        this.mockMvc.perform(get("/api/events/search?q=coroutines"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(0));
+
+        this.mockMvc.perform(get("/api/events/search?q= "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @TestDescription("지정한 시각에 모집 중인 이벤트 조회하기")
+    public void queryEnrollmentOpenEvents() throws Exception {
+        // Given
+        Event first = generateEvent(builder -> builder.eventStatus(EventStatus.PUBLISHED)
+                .beginEnrollmentDateTime(LocalDateTime.of(2031, 1, 1, 0, 0)).closeEnrollmentDateTime(LocalDateTime.of(2031, 1, 10, 0, 0)));
+        Event second = generateEvent(builder -> builder.eventStatus(EventStatus.PUBLISHED)
+                .beginEnrollmentDateTime(LocalDateTime.of(2031, 1, 5, 0, 0)).closeEnrollmentDateTime(LocalDateTime.of(2031, 1, 20, 0, 0)));
+        generateEvent(builder -> builder.eventStatus(EventStatus.PUBLISHED)
+                .beginEnrollmentDateTime(LocalDateTime.of(2031, 1, 15, 0, 0)).closeEnrollmentDateTime(LocalDateTime.of(2031, 1, 31, 0, 0)));
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/enrollment-open?at=2031-01-07T00:00:00&page=0&size=10"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(2))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(first.getId()))
+                .andExpect(jsonPath("_embedded.eventList[1].id").value(second.getId()))
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("query-enrollment-open-events"));
+
+        // 모집 마감 시각도 포함한다
+        this.mockMvc.perform(get("/api/events/enrollment-open?at=2031-01-10T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(2));
+
+        // 수정하면 다시 색인된다
+        first.setCloseEnrollmentDateTime(LocalDateTime.of(2031, 1, 6, 0, 0));
+        this.eventService.save(first);
+        this.mockMvc.perform(get("/api/events/enrollment-open?at=2031-01-07T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(1))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(second.getId()));
+    }
+
+    @Test
+    @TestDescription("기간과 진행 기간이 겹치는 이벤트 조회하기")
+    public void queryEventsDuring() throws Exception {
+        // Given
+        Event before = generateEvent(builder -> builder.eventStatus(EventStatus.PUBLISHED)
+                .beginEventDateTime(LocalDateTime.of(2032, 3, 1, 10, 0)).endEventDateTime(LocalDateTime.of(2032, 3, 2, 18, 0)));
+        Event during = generateEvent(builder -> builder.eventStatus(EventStatus.PUBLISHED)
+                .beginEventDateTime(LocalDateTime.of(2032, 3, 3, 10, 0)).endEventDateTime(LocalDateTime.of(2032, 3, 3, 18, 0)));
+        Event longer = generateEvent(builder -> builder.eventStatus(EventStatus.PUBLISHED)
+                .beginEventDateTime(LocalDateTime.of(2032, 2, 1, 10, 0)).endEventDateTime(LocalDateTime.of(2032, 4, 1, 18, 0)));
+        generateEvent(builder -> builder.eventStatus(EventStatus.PUBLISHED)
+                .beginEventDateTime(LocalDateTime.of(2032, 3, 9, 10, 0)).endEventDateTime(LocalDateTime.of(2032, 3, 10, 18, 0)));
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/during?from=2032-03-02T00:00:00&to=2032-03-08T23:59:59"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(3))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(longer.getId()))
+                .andExpect(jsonPath("_embedded.eventList[1].id").value(before.getId()))
+                .andExpect(jsonPath("_embedded.eventList[2].id").value(during.getId()))
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("query-events-during"));
+
+        this.mockMvc.perform(get("/api/events/during?from=2032-03-08T00:00:00&to=2032-03-02T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @TestDescription("저장할 때 갱신되는 이벤트 통계 조회하기")
+    public void getEventStats() throws Exception {
+        // Given
+        this.eventStatsCounter.reconcile();
+        this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(generateEventDto(1))))
+                .andExpect(status().isCreated());
+        Integer managerId = this.accountRepository.findByEmail(appProperties.getUserUsername()).get().getId();
+        Event freeOnline = generateEvent(builder -> builder.eventStatus(EventStatus.PUBLISHED).basePrice(0).maxPrice(0).location(null));
+        generateEvent(builder -> builder.eventStatus(EventStatus.BEGAN_ENROLLMENT));
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/stats"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("total").value(3))
+                .andExpect(jsonPath("byStatus.DRAFT").value(1))
+                .andExpect(jsonPath("byStatus.PUBLISHED").value(1))
+                .andExpect(jsonPath("byStatus.BEGAN_ENROLLMENT").value(1))
+                .andExpect(jsonPath("free").value(1))
+                .andExpect(jsonPath("paid").value(2))
+                .andExpect(jsonPath("offline").value(2))
+                .andExpect(jsonPath("online").value(1))
+                .andExpect(jsonPath("byManager['" + managerId + "']").value(1))
+                .andExpect(jsonPath("reconciledAt").exists())
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("get-event-stats"));
+
+        // 수정하면 이전 칸에서 빠지고 새 칸에 더해진다
+        freeOnline.setEventStatus(EventStatus.DRAFT);
+        this.eventService.save(freeOnline);
+        this.mockMvc.perform(get("/api/events/stats"))
+                .andExpect(jsonPath("total").value(3))
+                .andExpect(jsonPath("byStatus.DRAFT").value(2))
+                .andExpect(jsonPath("byStatus.PUBLISHED").value(0));
+
+        // API 밖에서 지운 행은 reconcile 에서 바로잡는다
+        this.eventRepository.deleteAll();
+        assertThat(this.eventStatsCounter.reconcile()).isEqualTo(3);
+        this.mockMvc.perform(get("/api/events/stats"))
+                .andExpect(jsonPath("total").value(0))
+                .andExpect(jsonPath("byStatus.DRAFT").value(0));
+    }
+
+    @Test
+    @TestDescription("같은 Idempotency-Key 로 다시 보내면 저장하지 않고 처음 응답을 다시 받기")
+    public void createEvent_IdempotencyKey() throws Exception {
+        // Given
+        String bearerToken = getBearerToken();
+        String content = this.objectMapper.writeValueAsString(generateEventDto(1));
+        MockHttpServletResponse first = this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .header("Idempotency-Key", "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse();
+
+        // When & Then
+        this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .header("Idempotency-Key", "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, first.getHeader(HttpHeaders.LOCATION)))
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("id").value((Integer) JsonPath.read(first.getContentAsString(), "id")));
+        assertThat(this.eventRepository.count()).isEqualTo(1);
+
+        // 같은 key 에 다른 본문이면 422
+        this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .header("Idempotency-Key", "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(generateEventDto(2))))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("errors[0].code").value("idempotencyKeyReused"));
+
+        // 같은 key 로 동시에 보내도 하나만 저장된다
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<MockHttpServletResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> this.mockMvc.perform(post("/api/events")
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                    .header("Idempotency-Key", "create-2")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(content))
+                    .andReturn().getResponse()));
+        }
+        Set<String> locations = new HashSet<>();
+        for (Future<MockHttpServletResponse> future : futures) {
+            MockHttpServletResponse response = future.get(30, TimeUnit.SECONDS);
+            assertThat(response.getStatus()).isEqualTo(201);
+            locations.add(response.getHeader(HttpHeaders.LOCATION));
+        }
+        executor.shutdown();
+        assertThat(locations).hasSize(1);
+        assertThat(this.eventRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @TestDescription("이벤트 생성 / 수정을 SSE 로 받고, Last-Event-ID 로 이어 받거나 resync 받기")
+    public void subscribeEventChanges() throws Exception {
+        // Given
+        MvcResult live = this.mockMvc.perform(get("/api/events/changes").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // When - API 로 만들고 고친다
+        MockHttpServletResponse created = this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(generateEventDto(1))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse();
+        Integer eventId = JsonPath.read(created.getContentAsString(), "id");
+        String liveContent = awaitContent(live, "event:created");
+        Event event = this.eventRepository.findById(eventId).get();
+        event.setDescription("changed");
+        this.eventService.save(event);
+
+        // Then
+        liveContent = awaitContent(live, "event:updated");
+        assertThat(liveContent).contains("\"eventId\":" + eventId).contains("/api/events/" + eventId);
+        String createdId = liveContent.substring(liveContent.indexOf("id:") + 3, liveContent.indexOf('\n', liveContent.indexOf("id:")));
+
+        // 생성 이벤트의 id 로 다시 연결하면 그 다음 변경(수정)부터 받는다
+        MvcResult resumed = this.mockMvc.perform(get("/api/events/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", createdId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(awaitContent(resumed, "event:updated")).doesNotContain("event:created");
+
+        // 이 프로세스가 준 적 없는 id 면 resync 를 받고 연결이 끝난다
+        MvcResult stale = this.mockMvc.perform(get("/api/events/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", "stale-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(awaitContent(stale, "event:resync")).contains("/api/events");
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+
+    @Test
+    @TestDescription("이벤트에 참가 신청하고 취소하기")
+    public void enrollEvent() throws Exception {
+        // Given
+        String bearerToken = getBearerToken();
+        Event event = generateEvent(builder -> builder.limitOfEnrollment(10).eventStatus(EventStatus.BEGAN_ENROLLMENT)
+                .beginEnrollmentDateTime(LocalDateTime.now().minusDays(1)).closeEnrollmentDateTime(LocalDateTime.now().plusDays(1)));
+
+        // When & Then
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("_links.event").exists())
+                .andExpect(jsonPath("_links.cancel-enrollment").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("enroll-event"));
+        assertThat(this.eventRepository.findById(event.getId()).get().getEnrolledCount()).isEqualTo(1);
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("alreadyEnrolled"));
+
+        this.mockMvc.perform(delete("/api/events/{id}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isNoContent());
+        assertThat(this.eventRepository.findById(event.getId()).get().getEnrolledCount()).isZero();
+
+        this.mockMvc.perform(delete("/api/events/{id}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @TestDescription("자리가 없거나 모집 기간이 아닌 이벤트에 참가 신청하기")
+    public void enrollEvent_Rejected() throws Exception {
+        // Given
+        String bearerToken = getBearerToken();
+        Event full = generateEvent(builder -> builder.limitOfEnrollment(1).eventStatus(EventStatus.BEGAN_ENROLLMENT)
+                .beginEnrollmentDateTime(LocalDateTime.now().minusDays(1)).closeEnrollmentDateTime(LocalDateTime.now().plusDays(1)));
+        Account other = this.accountRepository.save(Account.builder().email("other@email.com").password("pass").build());
+        assertThat(this.enrollmentService.enroll(full.getId(), other)).isEqualTo(EnrollmentService.Result.ENROLLED);
+
+        Event closed = generateEvent(builder -> builder.limitOfEnrollment(10).eventStatus(EventStatus.BEGAN_ENROLLMENT)
+                .beginEnrollmentDateTime(LocalDateTime.now().minusDays(1)).closeEnrollmentDateTime(LocalDateTime.now().plusDays(1)));
+        closed.setCloseEnrollmentDateTime(LocalDateTime.now().minusHours(1));
+        this.eventService.save(closed);
+
+        Event draft = generateEvent(builder -> builder.limitOfEnrollment(10).eventStatus(EventStatus.DRAFT)
+                .beginEnrollmentDateTime(LocalDateTime.now().minusDays(1)).closeEnrollmentDateTime(LocalDateTime.now().plusDays(1)));
+
+        // When & Then
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", full.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("soldOut"))
+                .andExpect(jsonPath("_links.index").exists());
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", closed.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("enrollmentNotOpen"));
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", draft.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("notEnrolling"));
+        assertThat(this.eventRepository.findById(draft.getId()).get().getEnrolledCount()).isZero();
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", 54321)
+                .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isNotFound());
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", full.getId()))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @TestDescription("30개의 이벤트를 NDJSON 으로 내보내기")
+    public void exportEvents() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andDo(document("export-events"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(30);
+        assertThat(JsonPath.<String>read(lines[0], "$.name")).isEqualTo("Spring");
+        assertThat(JsonPath.<Integer>read(lines[29], "$.id")).isGreaterThan(JsonPath.<Integer>read(lines[0], "$.id"));
+    }
+
+    @Test
+    @TestDescription("조건에 맞는 이벤트만 CSV 로 내보내기")
+    public void exportEventsAsCsv() throws Exception {
+        // Given
+        IntStream.range(0, 10).forEach(this::generateEvent);
+        Event published = this.generateEvent(100);
+        published.setEventStatus(EventStatus.PUBLISHED);
+        published.setDescription("쉼표, \"따옴표\" 포함");
+        this.eventRepository.save(published);
+
+        // When
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events/export?format=csv&eventStatus=PUBLISHED"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String[] lines = body.split("\r\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("id,name,description,");
+        assertThat(lines[1]).startsWith(published.getId() + ",Spring,\"쉼표, \"\"따옴표\"\" 포함\",");
+
+        this.mockMvc.perform(get("/api/events/export?format=xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @TestDescription("format 없이 Accept 헤더로 NDJSON / CSV 내보내기 고르기")
+    public void exportEvents_AcceptHeader() throws Exception {
+        // Given
+        IntStream.range(0, 3).forEach(this::generateEvent);
+
+        // When & Then
+        MvcResult ndjsonResult = this.mockMvc.perform(get("/api/events/export")
+                    .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String ndjson = this.mockMvc.perform(asyncDispatch(ndjsonResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(ndjson.split("\n")).hasSize(3);
+
+        MvcResult csvResult = this.mockMvc.perform(get("/api/events/export")
+                    .accept("text/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csv = this.mockMvc.perform(asyncDispatch(csvResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(csv.split("\r\n")).hasSize(4);
+        assertThat(csv).startsWith("id,name,description,");
+    }
+
+    @Test
+    @TestDescription("매니저가 다른 20개의 이벤트 목록과 단건을 조회할 때 SQL 수가 일정하다")
+    public void queryEventsWithoutNPlusOne() throws Exception {
+        // Given
+        List<Account> managers = new ArrayList<>();
+        IntStream.range(0, 4).forEach(i -> managers.add(this.accountRepository.save(Account.builder()
+                .email("manager" + i + "@email.com")
+                .password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build())));
+        List<Event> events = new ArrayList<>();
+        IntStream.range(0, 20).forEach(i -> {
+            Event event = this.generateEvent(i);
+            event.setManager(managers.get(i % managers.size()));
+            events.add(this.eventRepository.save(event));
+        });
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // When & Then - last modified + select + count
+        statistics.clear();
+        this.mockMvc.perform(get("/api/events").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(20))
+                .andExpect(jsonPath("_embedded.eventList[0].manager.id").exists());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        // When & Then - select
+        statistics.clear();
+        this.mockMvc.perform(get("/api/events/{id}", events.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("manager.id").value(managers.get(0).getId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
     @Test
     @TestDescription("기존의 이벤트를 하나 조회하기")
     public void getEvent() throws Exception {
@@ -283,6 +1137,87 @@ public class EventControllerTests extends BaseControllerTest {
         ;
     }
 
+    @Test
+    @TestDescription("같은 이벤트를 다시 조회하면 캐시에서 읽고, 수정하면 캐시가 비워진다")
+    public void getEventFromCache() throws Exception {
+        // Given
+        String bearerToken = getBearerToken();
+        Event event = this.generateManagedEvent(100);
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+
+        // When & Then
+        statistics.clear();
+        String eTag = this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Spring"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                    .content("{\"name\": \"Cached Event\"}"))
+                .andExpect(status().isOk());
+
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Cached Event"));
+    }
+
+    @Test
+    @TestDescription("변경되지 않은 이벤트를 If-None-Match 로 조회하면 304 받기")
+    public void getEventNotModified() throws Exception {
+        // Given
+        Event event = this.generateEvent(100);
+        String eTag = this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        event.setName("Changed");
+        this.eventService.save(event);
+
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Changed"))
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    @Test
+    @TestDescription("변경이 없는 목록을 If-Modified-Since 로 조회하면 304 받기")
+    public void queryEventsNotModified() throws Exception {
+        // Given
+        IntStream.range(0, 5).forEach(this::generateEvent);
+        String lastModified = this.mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events")
+                    .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+
+        Thread.sleep(1000); // Last-Modified 는 초 단위
+        this.generateEvent(100);
+
+        this.mockMvc.perform(get("/api/events")
+                    .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(6));
+    }
+
     @Test
     @TestDescription("없는 이벤트는 조회했을 때 404 받기")
     public void getEvent404() throws Exception {
@@ -298,8 +1233,9 @@ public class EventControllerTests extends BaseControllerTest {
     @Test
     @TestDescription("이벤트를 정상적으로 수정하기")
     public void updateEvent() throws Exception {
-        //Given
-        Event event = this.generateEvent(200);
+        //Given - 이벤트를 관리하는 계정만 수정할 수 있다
+        String bearerToken = getBearerToken();
+        Event event = this.generateManagedEvent(200);
 
         EventDto eventDto = this.modelMapper.map(event, EventDto.class);
         String eventName = "Updated Event";
@@ -307,7 +1243,7 @@ public class EventControllerTests extends BaseControllerTest {
 
         // When & Then
         this.mockMvc.perform(put("/api/events/{id}", event.getId())
-                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
                 .contentType(MediaType.APPLICATION_JSON_UTF8)
                 .content(this.objectMapper.writeValueAsString(eventDto))
         )
@@ -320,6 +1256,107 @@ public class EventControllerTests extends BaseControllerTest {
 
     }
 
+    @Test
+    @TestDescription("이벤트 일부를 PATCH 로 수정하기")
+    public void patchEvent() throws Exception {
+        // Given
+        String bearerToken = getBearerToken();
+        Event event = this.generateManagedEvent(200);
+        String eTag = this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(jsonPath("_links.update-event").exists())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                    .content("{\"name\": \"Patched Event\", \"basePrice\": 0, \"maxPrice\": 0}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Patched Event"))
+                .andExpect(jsonPath("description").value(event.getDescription()))
+                .andExpect(jsonPath("free").value(true))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andDo(document("patch-event"));
+
+        // 이미 바뀐 버전의 ETag 로 다시 수정하면 412
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                    .content("{\"name\": \"Lost Update\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(this.eventRepository.findById(event.getId()).get().getName()).isEqualTo("Patched Event");
+    }
+
+    @Test
+    @TestDescription("If-Match 없이 PATCH 하면 428, 잘못된 값이면 400 받기")
+    public void patchEvent_Precondition_And_Bad_Request() throws Exception {
+        // Given
+        String bearerToken = getBearerToken();
+        Event event = this.generateManagedEvent(200);
+
+        // When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                    .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                    .content("{\"name\": \"No If-Match\"}"))
+                .andExpect(status().isPreconditionRequired());
+
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                    .header(HttpHeaders.IF_MATCH, "*")
+                    .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                    .content("{\"basePrice\": 20000, \"maxPrice\": 1000}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").exists());
+
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                    .header(HttpHeaders.IF_MATCH, "*")
+                    .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                    .content("{\"eventStatus\": \"PUBLISHED\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @TestDescription("약한 ETag 로 PATCH 하면 412, int 필드에 null 을 보내면 400 받기")
+    public void patchEvent_WeakETag_And_Null() throws Exception {
+        // Given
+        String bearerToken = getBearerToken();
+        Event event = this.generateManagedEvent(200);
+        String eTag = this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then - If-Match 는 강한 비교라서 버전이 같아도 약한 ETag 는 맞지 않는다
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                    .header(HttpHeaders.IF_MATCH, "W/" + eTag)
+                    .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                    .content("{\"name\": \"Weak Match\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        for (String field : List.of("basePrice", "maxPrice", "limitOfEnrollment")) {
+            this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"" + field + "\": null}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        Event unchanged = this.eventRepository.findById(event.getId()).get();
+        assertThat(unchanged.getName()).isEqualTo(event.getName());
+        assertThat(unchanged.getBasePrice()).isEqualTo(event.getBasePrice());
+        assertThat(unchanged.getMaxPrice()).isEqualTo(event.getMaxPrice());
+        assertThat(unchanged.getLimitOfEnrollment()).isEqualTo(event.getLimitOfEnrollment());
+    }
+
     @Test
     @TestDescription("입력값이 비어있는 경우에 이벤트 수정 실패")
     public void updateEvent400_Empty() throws Exception {
@@ -373,8 +1410,28 @@ public class EventControllerTests extends BaseControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    private Event generateManagedEvent(int i) {
+        Event event = this.generateEvent(i);
+        event.setManager(this.accountRepository.findByEmail(appProperties.getUserUsername()).get());
+        return this.eventRepository.save(event);
+    }
+
     private Event generateEvent(int i) {
-        Event event = Event.builder()
+        Event event = eventBuilder().build();
+
+        return this.eventRepository.save(event);
+    }
+
+    // generateEvent 기본값에서 테스트에 필요한 값만 바꾼다. EventService 로 저장하므로 검색 / 일정 색인과 통계에도 들어간다
+    private Event generateEvent(UnaryOperator<Event.EventBuilder> customizer) {
+        Event event = customizer.apply(eventBuilder()).build();
+        event.update();
+
+        return this.eventService.save(event);
+    }
+
+    private Event.EventBuilder eventBuilder() {
+        return Event.builder()
                     .name("Spring").description("REST API Development").beginEnrollmentDateTime(LocalDateTime.of(2020, 11, 10, 14, 21))
                     .closeEnrollmentDateTime(LocalDateTime.of(2021, 11, 11, 11, 11))
                     .beginEventDateTime(LocalDateTime.of(2020,11,11,11,11))
@@ -385,10 +1442,21 @@ public class EventControllerTests extends BaseControllerTest {
                     .location("D2")
                     .free(false)
                     .offline(true)
-                    .eventStatus(EventStatus.DRAFT)
-                    .build();
+                    .eventStatus(EventStatus.DRAFT);
+    }
 
-        return this.eventRepository.save(event);
+    private EventDto generateEventDto(int i) {
+        return EventDto.builder()
+                .name("Spring " + i).description("REST API Development")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 11, 10, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2021, 11, 11, 11, 11))
+                .beginEventDateTime(LocalDateTime.of(2020, 11, 11, 11, 11))
+                .endEventDateTime(LocalDateTime.of(2022, 12, 11, 11, 11))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("D2")
+                .build();
     }
 
 }
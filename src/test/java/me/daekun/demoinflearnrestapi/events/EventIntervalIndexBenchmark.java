@@ -0,0 +1,128 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 합성 이벤트 100만 건에서 "지금 모집 중" / "이번 주에 진행" 조회 - EventIntervalIndex vs 전체 순회.
+ * 순회 쪽은 DB 없이 메모리의 배열을 도는 것이라 실제 full scan 보다 유리한 기준선이다.
+ * 이벤트는 10년에 고르게 퍼져 있고 모집 기간은 1~30일, 진행 기간은 1시간~3일이다.
+ *
+ * 실행: mvn test-compile 후 main 실행 (힙 2G 필요)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EventIntervalIndexBenchmark {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final int MINUTES = 10 * 365 * 24 * 60;
+    private static final int QUERIES = 1024;
+
+    @Param("1000000")
+    private int events;
+
+    private Event[] table;
+    private EventIntervalIndex index;
+    private LocalDateTime[] points;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        this.table = new Event[this.events];
+        this.index = new EventIntervalIndex(null);
+        for (int id = 0; id < this.events; id++) {
+            LocalDateTime beginEnrollment = EPOCH.plusMinutes(random.nextInt(MINUTES));
+            LocalDateTime closeEnrollment = beginEnrollment.plusDays(1 + random.nextInt(30));
+            LocalDateTime beginEvent = closeEnrollment.plusDays(random.nextInt(7));
+            Event event = Event.builder()
+                    .id(id)
+                    .beginEnrollmentDateTime(beginEnrollment)
+                    .closeEnrollmentDateTime(closeEnrollment)
+                    .beginEventDateTime(beginEvent)
+                    .endEventDateTime(beginEvent.plusHours(1 + random.nextInt(72)))
+                    .build();
+            this.table[id] = event;
+            this.index.index(event);
+        }
+        this.points = new LocalDateTime[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            this.points[i] = EPOCH.plusMinutes(random.nextInt(MINUTES));
+        }
+    }
+
+    private LocalDateTime nextPoint() {
+        return this.points[this.next++ & (QUERIES - 1)];
+    }
+
+    @Benchmark
+    public List<Integer> enrollmentOpen_index() {
+        return this.index.enrollmentOpenAt(nextPoint());
+    }
+
+    @Benchmark
+    public List<Integer> enrollmentOpen_scan() {
+        LocalDateTime at = nextPoint();
+        List<Integer> ids = new ArrayList<>();
+        for (Event event : this.table) {
+            if (!event.getBeginEnrollmentDateTime().isAfter(at) && !event.getCloseEnrollmentDateTime().isBefore(at)) {
+                ids.add(event.getId());
+            }
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public List<Integer> happeningDuringWeek_index() {
+        LocalDateTime from = nextPoint();
+        return this.index.happeningDuring(from, from.plusWeeks(1));
+    }
+
+    @Benchmark
+    public List<Integer> happeningDuringWeek_scan() {
+        LocalDateTime from = nextPoint();
+        LocalDateTime to = from.plusWeeks(1);
+        List<Integer> ids = new ArrayList<>();
+        for (Event event : this.table) {
+            if (!event.getBeginEventDateTime().isAfter(to) && !event.getEndEventDateTime().isBefore(from)) {
+                ids.add(event.getId());
+            }
+        }
+        return ids;
+    }
+
+    // 저장 한 건마다 드는 색인 비용 (두 트리에서 빼고 다시 넣기)
+    @Benchmark
+    public EventIntervalIndex reindex_one() {
+        this.index.index(this.table[(this.next++ * 977 & Integer.MAX_VALUE) % this.events]);
+        return this.index;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventIntervalIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,245 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import me.daekun.demoinflearnrestapi.common.AppProperties;
+import me.daekun.demoinflearnrestapi.common.TestDescription;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EventLifecycleSchedulerTest {
+
+    @Autowired
+    EventLifecycleScheduler scheduler;
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    AppProperties appProperties;
+
+    private final List<Event> events = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        // 테스트 프로파일에서는 꺼져 있다. 예약된 tick 은 돌지 않으므로 켜고 직접 부른다
+        this.appProperties.setEventLifecycleScheduler(true);
+    }
+
+    @After
+    public void tearDown() {
+        this.appProperties.setEventLifecycleScheduler(false);
+        // 스케줄러가 version 을 올렸으므로 들고 있는 엔티티가 아니라 id 로 지운다
+        this.events.forEach(event -> this.eventRepository.deleteById(event.getId()));
+    }
+
+    @Test
+    @TestDescription("내려가 있던 동안 모집 시작 시각이 지난 이벤트를 한번에 바꾼다")
+    public void catchUpAfterDowntime() {
+        // Given - 스케줄러를 거치지 않고 저장해서 내려가 있던 동안 쌓인 이벤트를 흉내낸다
+        LocalDateTime now = LocalDateTime.now();
+        Event due = this.eventRepository.save(event(EventStatus.PUBLISHED, now.minusDays(3)));
+        Event alsoDue = this.eventRepository.save(event(EventStatus.PUBLISHED, now.minusMinutes(1)));
+        Event upcoming = this.eventRepository.save(event(EventStatus.PUBLISHED, now.plusDays(1)));
+        Event draft = this.eventRepository.save(event(EventStatus.DRAFT, now.minusDays(3)));
+        this.events.addAll(List.of(due, alsoDue, upcoming, draft));
+        // 단건 조회 캐시를 채워 둔다
+        assertThat(this.eventService.findById(due.getId()).get().getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+
+        // When
+        int updated = this.scheduler.refill(now);
+
+        // Then
+        assertThat(updated).isEqualTo(2);
+        assertThat(statusOf(due)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+        assertThat(statusOf(alsoDue)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+        assertThat(statusOf(upcoming)).isEqualTo(EventStatus.PUBLISHED);
+        assertThat(statusOf(draft)).isEqualTo(EventStatus.DRAFT);
+        assertThat(this.eventRepository.findById(due.getId()).get().getVersion()).isEqualTo(due.getVersion() + 1);
+        assertThat(this.eventService.findById(due.getId()).get().getEventStatus()).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+    }
+
+    @Test
+    @TestDescription("커밋 전에 다른 요청이 바뀌기 전의 이벤트를 캐시해도 커밋한 뒤에는 바뀐 이벤트를 읽는다")
+    public void evictCacheAfterCommit() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Event due = this.eventRepository.save(event(EventStatus.PUBLISHED, now.minusMinutes(1)));
+        this.events.add(due);
+
+        // When - 바꾼 트랜잭션이 커밋되기 전에 다른 스레드가 단건 조회로 캐시를 채운다
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+            assertThat(this.eventService.beginEnrollment(List.of(due.getId()), now)).isEqualTo(1);
+            EventStatus cached = CompletableFuture.supplyAsync(() -> this.eventService.findById(due.getId()).get().getEventStatus()).join();
+            assertThat(cached).isEqualTo(EventStatus.PUBLISHED);
+        });
+
+        // Then
+        assertThat(this.eventService.findById(due.getId()).get().getEventStatus()).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+    }
+
+    @Test
+    @TestDescription("version 이 null 인 예전 행도 바꾸면서 version 을 1 로 만든다")
+    public void transitionLegacyRowWithoutVersion() {
+        // Given - version 컬럼이 생기기 전에 저장된 행
+        LocalDateTime now = LocalDateTime.now();
+        Event legacy = this.eventRepository.save(event(EventStatus.PUBLISHED, now.minusDays(1)));
+        this.events.add(legacy);
+        this.jdbcTemplate.update("update event set version = null where id = ?", legacy.getId());
+
+        // When
+        int updated = this.scheduler.refill(now);
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        Event transitioned = this.eventRepository.findById(legacy.getId()).get();
+        assertThat(transitioned.getEventStatus()).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+        assertThat(transitioned.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    @TestDescription("모집 시작 시각이 된 이벤트만 차례대로 바꾼다")
+    public void fireDueTransitions() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        this.scheduler.refill(now);
+        Event first = save(event(EventStatus.PUBLISHED, now.plusMinutes(10)));
+        Event second = save(event(EventStatus.PUBLISHED, now.plusMinutes(20)));
+        Event later = save(event(EventStatus.PUBLISHED, now.plusHours(2)));
+
+        // When & Then
+        assertThat(this.scheduler.tick(now.plusMinutes(5))).isZero();
+        assertThat(this.scheduler.tick(now.plusMinutes(15))).isEqualTo(1);
+        assertThat(statusOf(first)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+        assertThat(statusOf(second)).isEqualTo(EventStatus.PUBLISHED);
+
+        assertThat(this.scheduler.tick(now.plusMinutes(25))).isEqualTo(1);
+        assertThat(statusOf(second)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+
+        // horizon(1시간) 밖의 이벤트는 큐에 없다가 refill 에서 처리된다
+        assertThat(statusOf(later)).isEqualTo(EventStatus.PUBLISHED);
+        assertThat(this.scheduler.tick(now.plusHours(2).plusMinutes(1))).isEqualTo(1);
+        assertThat(statusOf(later)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+    }
+
+    @Test
+    @TestDescription("시작 시각을 미루거나 공개를 취소한 이벤트는 원래 시각에 바꾸지 않는다")
+    public void rescheduleAndUnpublish() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        this.scheduler.refill(now);
+        Event postponed = save(event(EventStatus.PUBLISHED, now.plusMinutes(10)));
+        Event unpublished = save(event(EventStatus.PUBLISHED, now.plusMinutes(10)));
+
+        postponed.setBeginEnrollmentDateTime(now.plusMinutes(40));
+        postponed = this.eventService.save(postponed);
+        unpublished.setEventStatus(EventStatus.DRAFT);
+        unpublished = this.eventService.save(unpublished);
+
+        // When & Then
+        assertThat(this.scheduler.tick(now.plusMinutes(15))).isZero();
+        assertThat(statusOf(postponed)).isEqualTo(EventStatus.PUBLISHED);
+        assertThat(statusOf(unpublished)).isEqualTo(EventStatus.DRAFT);
+
+        assertThat(this.scheduler.tick(now.plusMinutes(29))).isEqualTo(0);
+        assertThat(this.scheduler.tick(now.plusMinutes(45))).isEqualTo(1);
+        assertThat(statusOf(postponed)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+    }
+
+    @Test
+    @TestDescription("스케줄러가 꺼져 있으면 저장된 이벤트를 큐에 쌓지 않는다")
+    public void ignoreSavesWhenDisabled() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        this.scheduler.refill(now);
+        this.appProperties.setEventLifecycleScheduler(false);
+
+        // When
+        Event event = save(event(EventStatus.PUBLISHED, now.plusMinutes(10)));
+
+        // Then
+        this.appProperties.setEventLifecycleScheduler(true);
+        assertThat(this.scheduler.tick(now.plusMinutes(15))).isZero();
+        assertThat(statusOf(event)).isEqualTo(EventStatus.PUBLISHED);
+    }
+
+    @Test
+    @TestDescription("refill 이 DB 를 읽은 다음 커밋된 저장도 큐에 남는다")
+    public void keepSavesDuringRefill() {
+        // Given - 큐를 채울 이벤트를 읽은 직후에 다른 요청이 이벤트를 저장하고 커밋한다
+        LocalDateTime now = LocalDateTime.now();
+        List<EventLifecycleScheduler> local = new ArrayList<>();
+        EventRepository racingRepository = (EventRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{EventRepository.class}, (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(this.eventRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (method.getName().equals("findEnrollmentSchedules")) {
+                        Event saved = save(event(EventStatus.PUBLISHED, now.plusMinutes(10)));
+                        local.get(0).onEventSaved(new EventSaved(saved));
+                    }
+                    return result;
+                });
+        local.add(new EventLifecycleScheduler(this.eventService, racingRepository, this.appProperties));
+
+        // When
+        local.get(0).refill(now);
+
+        // Then
+        assertThat(local.get(0).tick(now.plusMinutes(15))).isEqualTo(1);
+        assertThat(statusOf(this.events.get(0))).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+    }
+
+    private Event save(Event event) {
+        Event saved = this.eventService.save(event);
+        this.events.add(saved);
+        return saved;
+    }
+
+    private EventStatus statusOf(Event event) {
+        return this.eventRepository.findById(event.getId()).get().getEventStatus();
+    }
+
+    private Event event(EventStatus eventStatus, LocalDateTime beginEnrollmentDateTime) {
+        return Event.builder()
+                .name("Spring").description("REST API Development with Spring")
+                .beginEnrollmentDateTime(beginEnrollmentDateTime)
+                .closeEnrollmentDateTime(beginEnrollmentDateTime.plusDays(7))
+                .beginEventDateTime(beginEnrollmentDateTime.plusDays(8))
+                .endEventDateTime(beginEnrollmentDateTime.plusDays(9))
+                .limitOfEnrollment(100)
+                .eventStatus(eventStatus)
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * createEvent(새 인스턴스) / updateEvent(기존 인스턴스에 덮어쓰기) 경로의 변환 비용 비교 - DirectEventMapper vs ModelMapper.
+ *
+ * 실행: mvn test-compile 후 main 실행
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMapperBenchmark {
+
+    private EventMapper directMapper;
+    private EventMapper modelMapper;
+    private EventDto eventDto;
+    private Event existingEvent;
+
+    @Setup
+    public void setUp() {
+        this.directMapper = new DirectEventMapper();
+        // 애플리케이션처럼 하나의 ModelMapper 를 재사용해서 TypeMap 캐시가 채워진 상태로 잰다
+        this.modelMapper = new ModelMapperEventMapper(new ModelMapper());
+        this.eventDto = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .location("강남역 D2 스타텁 팩토리")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .build();
+        this.existingEvent = new Event();
+    }
+
+    @Benchmark
+    public Event direct_toEvent() {
+        Event event = this.directMapper.toEvent(this.eventDto);
+        event.update();
+        return event;
+    }
+
+    @Benchmark
+    public Event modelMapper_toEvent() {
+        Event event = this.modelMapper.toEvent(this.eventDto);
+        event.update();
+        return event;
+    }
+
+    @Benchmark
+    public Event direct_update() {
+        this.directMapper.update(this.eventDto, this.existingEvent);
+        this.existingEvent.update();
+        return this.existingEvent;
+    }
+
+    @Benchmark
+    public Event modelMapper_update() {
+        this.modelMapper.update(this.eventDto, this.existingEvent);
+        this.existingEvent.update();
+        return this.existingEvent;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import me.daekun.demoinflearnrestapi.accounts.Account;
+import org.junit.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventMapperTest {
+
+    private final EventMapper directMapper = new DirectEventMapper();
+    private final EventMapper modelMapper = new ModelMapperEventMapper(new ModelMapper());
+
+    @Test
+    public void toEvent() {
+        assertSameEvent(directMapper.toEvent(eventDto("강남역 D2 스타텁 팩토리", 100, 200)),
+                modelMapper.toEvent(eventDto("강남역 D2 스타텁 팩토리", 100, 200)));
+    }
+
+    @Test
+    public void toEvent_OnlineAndFree() {
+        assertSameEvent(directMapper.toEvent(eventDto(null, 0, 0)), modelMapper.toEvent(eventDto(null, 0, 0)));
+    }
+
+    @Test
+    public void update() {
+        // id, eventStatus, manager, version 은 유지되고 null 인 location 은 그대로 덮어써져야 한다
+        Event direct = existingEvent();
+        Event mapped = existingEvent();
+
+        directMapper.update(eventDto(null, 0, 0), direct);
+        modelMapper.update(eventDto(null, 0, 0), mapped);
+
+        assertSameEvent(direct, mapped);
+        assertThat(direct.getId()).isEqualTo(10);
+        assertThat(direct.getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+        assertThat(direct.getManager().getId()).isEqualTo(1);
+        assertThat(direct.getVersion()).isEqualTo(3);
+        assertThat(direct.getLocation()).isNull();
+        assertThat(direct.isFree()).isTrue();
+        assertThat(direct.isOffline()).isFalse();
+    }
+
+    @Test
+    public void toDto() {
+        Event event = existingEvent();
+        assertThat(directMapper.toDto(event)).isEqualTo(modelMapper.toDto(event));
+    }
+
+    private void assertSameEvent(Event direct, Event mapped) {
+        direct.update();
+        mapped.update();
+        assertThat(direct).usingRecursiveComparison().isEqualTo(mapped);
+    }
+
+    private EventDto eventDto(String location, int basePrice, int maxPrice) {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .location(location)
+                .basePrice(basePrice)
+                .maxPrice(maxPrice)
+                .limitOfEnrollment(100)
+                .build();
+    }
+
+    private Event existingEvent() {
+        Event event = Event.builder()
+                .id(10)
+                .name("Old")
+                .description("old event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 1, 1, 0, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 1, 2, 0, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 1, 3, 0, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 1, 4, 0, 0))
+                .location("판교")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(10)
+                .eventStatus(EventStatus.PUBLISHED)
+                .version(3)
+                .manager(Account.builder().id(1).email("user@email.com").build())
+                .build();
+        event.update();
+        return event;
+    }
+}
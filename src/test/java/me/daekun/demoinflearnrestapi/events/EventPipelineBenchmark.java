@@ -0,0 +1,166 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import me.daekun.demoinflearnrestapi.common.ErrorsResource;
+import me.daekun.demoinflearnrestapi.common.ErrorsSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이벤트 요청이 거치는 단계별 비용 - 검증, Event.update(), HAL 직렬화(단건 / 페이지), 에러 응답 직렬화.
+ * 변환(ModelMapper vs 직접 매핑)은 EventMapperBenchmark 에 있다.
+ *
+ * 실행: mvn -P benchmark -DskipTests test -Djmh.args=EventPipeline (결과는 target/jmh-result.json)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventPipelineBenchmark {
+
+    private EventValidator eventValidator;
+    private ObjectMapper objectMapper;
+    private EventDto validEventDto;
+    private EventDto wrongEventDto;
+    private Event event;
+    private List<Event> page;
+
+    @Setup
+    public void setUp() {
+        this.eventValidator = new EventValidator();
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jackson2HalModule())
+                .registerModule(new SimpleModule().addSerializer(Errors.class, new ErrorsSerializer()));
+        this.objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        this.validEventDto = eventDto(100, 200, LocalDateTime.of(2018, 11, 26, 14, 21));
+        // basePrice > maxPrice, 종료일이 시작일보다 앞 - 필드 에러 3개 + 글로벌 에러 1개
+        this.wrongEventDto = eventDto(10000, 200, LocalDateTime.of(2018, 11, 20, 14, 21));
+
+        this.event = event(1);
+        this.page = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            this.page.add(event(i));
+        }
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public Errors validate_valid() {
+        Errors errors = new BeanPropertyBindingResult(this.validEventDto, "eventDto");
+        this.eventValidator.validate(this.validEventDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Errors validate_wrong() {
+        Errors errors = new BeanPropertyBindingResult(this.wrongEventDto, "eventDto");
+        this.eventValidator.validate(this.wrongEventDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Event update() {
+        this.event.update();
+        return this.event;
+    }
+
+    @Benchmark
+    public String serialize_eventResource() throws Exception {
+        return this.objectMapper.writeValueAsString(new EventResource(this.event));
+    }
+
+    @Benchmark
+    public String serialize_pagedModel() throws Exception {
+        List<EventResource> resources = new ArrayList<>(this.page.size());
+        for (Event e : this.page) {
+            resources.add(new EventResource(e));
+        }
+        PagedModel<EventResource> pagedModel = PagedModel.of(resources, new PagedModel.PageMetadata(20, 0, 100));
+        return this.objectMapper.writeValueAsString(pagedModel);
+    }
+
+    @Benchmark
+    public String serialize_errors() throws Exception {
+        return this.objectMapper.writeValueAsString(ErrorsResource.modelOf(validate_wrong()));
+    }
+
+    private static EventDto eventDto(int basePrice, int maxPrice, LocalDateTime endEventDateTime) {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(endEventDateTime)
+                .basePrice(basePrice)
+                .maxPrice(maxPrice)
+                .limitOfEnrollment(100)
+                .build();
+    }
+
+    private static Event event(int id) {
+        Event event = Event.builder()
+                .id(id)
+                .name("event " + id)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .location("강남역 D2 스타텁 팩토리")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build();
+        event.update();
+        return event;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventPipelineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
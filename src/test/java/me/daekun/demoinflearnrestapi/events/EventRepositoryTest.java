@@ -0,0 +1,163 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import me.daekun.demoinflearnrestapi.common.TestDescription;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 목록 필터가 실제로 만드는 SQL(Hibernate 가 EventSpecs 로 만든 그대로)을 StatementInspector 로 잡아서 EXPLAIN 한다.
+ * 바인딩 값은 EventSpecs 가 조건을 붙이는 순서대로 넘긴다. 숫자 조건은 Hibernate 가 SQL 에 값으로 넣으므로 바인딩하지 않는다.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EventRepositoryTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    SqlCapture sqlCapture;
+
+    @Before
+    public void setUp() {
+        this.sqlCapture.clear();
+    }
+
+    @Test
+    @TestDescription("상태와 시작 일시로 필터링하면 상태 인덱스를 사용한다")
+    public void statusAndBeginUsesIndex() {
+        this.eventRepository.findAll(EventSpecs.of(EventSearchCondition.builder()
+                .eventStatus(EventStatus.PUBLISHED).beginFrom(FROM).build()));
+
+        assertThat(explainCaptured("PUBLISHED", FROM)).containsIgnoringCase("idx_event_status_begin");
+    }
+
+    @Test
+    @TestDescription("무료 / 오프라인 여부로 필터링하면 무료-오프라인 인덱스를 사용한다")
+    public void freeAndOfflineUsesIndex() {
+        this.eventRepository.findAll(EventSpecs.of(EventSearchCondition.builder()
+                .free(true).offline(false).build()));
+
+        assertThat(explainCaptured(true, false)).containsIgnoringCase("idx_event_free_offline_begin");
+    }
+
+    @Test
+    @TestDescription("기본 가격 범위로 필터링하면 가격 인덱스를 사용한다")
+    public void basePriceRangeUsesIndex() {
+        this.eventRepository.findAll(EventSpecs.of(EventSearchCondition.builder()
+                .basePriceMin(100).basePriceMax(200).build()));
+
+        assertThat(explainCaptured()).containsIgnoringCase("idx_event_price");
+    }
+
+    @Test
+    @TestDescription("최대 가격 범위만으로 필터링하면 최대 가격 인덱스를 사용한다")
+    public void maxPriceRangeUsesIndex() {
+        this.eventRepository.findAll(EventSpecs.of(EventSearchCondition.builder()
+                .maxPriceMin(100).maxPriceMax(200).build()));
+
+        assertThat(explainCaptured()).containsIgnoringCase("idx_event_max_price");
+    }
+
+    @Test
+    @TestDescription("시작 일시 범위로 필터링하면 시작 일시 인덱스를 사용한다")
+    public void beginWindowUsesIndex() {
+        this.eventRepository.findAll(EventSpecs.of(EventSearchCondition.builder()
+                .beginFrom(FROM).beginTo(TO).build()));
+
+        assertThat(explainCaptured(FROM, TO)).containsIgnoringCase("idx_event_begin_id");
+    }
+
+    @Test
+    @TestDescription("종료 일시 범위로 필터링하면 종료 일시 인덱스를 사용한다")
+    public void endWindowUsesIndex() {
+        this.eventRepository.findAll(EventSpecs.of(EventSearchCondition.builder()
+                .endTo(TO).build()));
+
+        assertThat(explainCaptured(TO)).containsIgnoringCase("idx_event_end");
+    }
+
+    @Test
+    @TestDescription("전체 개수 없이 조회할 때도 필터 조건으로 상태 인덱스를 사용하고 count 쿼리는 없다")
+    public void sliceWithFilterUsesIndex() {
+        this.eventRepository.findSlice(EventSpecs.of(EventSearchCondition.builder()
+                        .eventStatus(EventStatus.PUBLISHED).beginFrom(FROM).build()),
+                PageRequest.of(0, 10, Sort.by("beginEventDateTime")));
+
+        assertThat(this.sqlCapture.statements).noneMatch(sql -> sql.toLowerCase().contains("count("));
+        assertThat(explainCaptured("PUBLISHED", FROM, 11)).containsIgnoringCase("idx_event_status_begin");
+    }
+
+    @Test
+    @TestDescription("커서 조회의 keyset 조건은 시작 일시 인덱스를 사용한다")
+    public void keysetUsesIndex() {
+        this.eventRepository.findSlice(EventSpecs.of(new EventSearchCondition()).and(EventSpecs.after(FROM, 10)),
+                PageRequest.of(0, 10, Sort.by("beginEventDateTime", "id")));
+
+        assertThat(explainCaptured(FROM, FROM, 11)).containsIgnoringCase("idx_event_begin_id");
+    }
+
+    // 마지막으로 잡은 select 를 같은 바인딩 값으로 EXPLAIN 한다
+    private String explainCaptured(Object... params) {
+        List<String> statements = this.sqlCapture.statements;
+        assertThat(statements).isNotEmpty();
+        String sql = statements.get(statements.size() - 1);
+        assertThat(sql.trim().toLowerCase()).startsWith("select");
+        return this.jdbcTemplate.queryForObject("explain " + sql, String.class, params);
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+
+        @Bean
+        SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(SqlCapture sqlCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlCapture);
+        }
+    }
+
+    static class SqlCapture implements StatementInspector {
+
+        final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            this.statements.add(sql);
+            return sql;
+        }
+
+        void clear() {
+            this.statements.clear();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventSearchIndexTest {
+
+    private final EventSearchIndex index = new EventSearchIndex(null);
+
+    @Test
+    public void search() {
+        index.index(event(1, "Spring REST API", "HATEOAS 와 REST Docs"));
+        index.index(event(2, "JPA", "Spring Data JPA 로 REST API 만들기"));
+        index.index(event(3, "Kotlin", "코루틴"));
+
+        // 이름에 나온 단어가 설명에 나온 단어보다 점수가 높다
+        assertThat(index.search("spring")).containsExactly(1, 2);
+        // 드문 단어(jpa)가 흔한 단어(rest)보다 점수가 높다
+        assertThat(index.search("rest jpa")).containsExactly(2, 1);
+        assertThat(index.search("코루틴")).containsExactly(3);
+        assertThat(index.search("python")).isEmpty();
+    }
+
+    @Test
+    public void reindexAndRemove() {
+        index.index(event(1, "Spring", "REST API"));
+        index.index(event(1, "Kotlin", "REST API"));
+
+        assertThat(index.search("spring")).isEmpty();
+        assertThat(index.search("kotlin")).containsExactly(1);
+
+        index.remove(1);
+        assertThat(index.search("rest")).isEmpty();
+    }
+
+    @Test
+    public void tokenize() {
+        assertThat(EventSearchIndex.tokenize("Spring-Boot, REST_API 2.5 강남역!"))
+                .containsExactly("spring", "boot", "rest", "api", "2", "5", "강남역");
+    }
+
+    private Event event(int id, String name, String description) {
+        return Event.builder().id(id).name(name).description(description).build();
+    }
+}
@@ -0,0 +1,111 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import me.daekun.demoinflearnrestapi.accounts.Account;
+import org.junit.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.validation.Validation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventStatsCounterTest {
+
+    private final EventStatsCounter counter = new EventStatsCounter(null);
+
+    @Test
+    public void countOnSave() {
+        Account manager = Account.builder().id(7).build();
+        counter.onEventSaved(new EventSaved(event(1, EventStatus.DRAFT, 0, null, manager)));
+        counter.onEventSaved(new EventSaved(event(2, EventStatus.PUBLISHED, 100, "D2", manager)));
+        counter.onEventSaved(new EventSaved(event(3, EventStatus.PUBLISHED, 100, null, null)));
+
+        EventStats stats = counter.snapshot();
+        assertThat(stats.getTotal()).isEqualTo(3);
+        assertThat(stats.getByStatus()).containsEntry(EventStatus.DRAFT, 1L)
+                .containsEntry(EventStatus.PUBLISHED, 2L)
+                .containsEntry(EventStatus.BEGAN_ENROLLMENT, 0L);
+        assertThat(stats.getFree()).isEqualTo(1);
+        assertThat(stats.getPaid()).isEqualTo(2);
+        assertThat(stats.getOffline()).isEqualTo(1);
+        assertThat(stats.getOnline()).isEqualTo(2);
+        assertThat(stats.getByManager()).containsOnlyKeys(7).containsEntry(7, 2L);
+    }
+
+    @Test
+    public void moveBucketOnUpdate() {
+        Account manager = Account.builder().id(7).build();
+        counter.onEventSaved(new EventSaved(event(1, EventStatus.DRAFT, 0, null, manager)));
+        counter.onEventSaved(new EventSaved(event(1, EventStatus.PUBLISHED, 100, "D2", null)));
+
+        EventStats stats = counter.snapshot();
+        assertThat(stats.getTotal()).isEqualTo(1);
+        assertThat(stats.getByStatus()).containsEntry(EventStatus.DRAFT, 0L).containsEntry(EventStatus.PUBLISHED, 1L);
+        assertThat(stats.getFree()).isZero();
+        assertThat(stats.getOffline()).isEqualTo(1);
+        assertThat(stats.getByManager()).isEmpty();
+    }
+
+    @Test
+    public void snapshotDuringReconcile() throws Exception {
+        Account manager = Account.builder().id(7).build();
+        List<Event> events = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            events.add(event(i, EventStatus.PUBLISHED, i % 2 == 0 ? 0 : 100, i % 3 == 0 ? "D2" : null, manager));
+        }
+        EventService eventService = new EventService(null, null, Validation.buildDefaultValidatorFactory().getValidator(),
+                null, null, null, null, null) {
+            @Override
+            public void forEachEvent(Specification<Event> spec, Consumer<Event> action) {
+                events.forEach(action);
+            }
+        };
+        EventStatsCounter reconciling = new EventStatsCounter(eventService);
+        reconciling.reconcile();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reconciler = new Thread(() -> {
+            try {
+                while (running.get()) {
+                    reconciling.reconcile();
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        reconciler.start();
+        try {
+            long deadline = System.nanoTime() + 2_000_000_000L;
+            while (System.nanoTime() < deadline) {
+                EventStats stats = reconciling.snapshot();
+                assertThat(stats.getTotal()).isEqualTo(1000);
+                assertThat(stats.getFree()).isEqualTo(500);
+                assertThat(stats.getPaid()).isEqualTo(500);
+                assertThat(stats.getOffline()).isEqualTo(333);
+                assertThat(stats.getByManager()).containsEntry(7, 1000L);
+            }
+        } finally {
+            running.set(false);
+            reconciler.join();
+        }
+        assertThat(failure.get()).isNull();
+    }
+
+    private Event event(int id, EventStatus status, int price, String location, Account manager) {
+        Event event = Event.builder()
+                .id(id)
+                .eventStatus(status)
+                .basePrice(price)
+                .maxPrice(price)
+                .location(location)
+                .manager(manager)
+                .build();
+        event.update();
+        return event;
+    }
+}
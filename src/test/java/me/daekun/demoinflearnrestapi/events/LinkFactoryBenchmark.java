@@ -0,0 +1,124 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * 이벤트 20건 페이지 하나를 만들어서 HAL 로 직렬화하는 비용 비교 - linkTo(...) vs LinkFactory + EventLinks.
+ * 요청마다 base URI 를 새로 계산하도록 호출마다 새 요청을 바인딩한다.
+ *
+ * 실행: mvn test-compile 후 main 실행 (JUnit 테스트가 아니므로 mvn test 에는 포함되지 않는다)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkFactoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private List<Event> events;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        this.events = new ArrayList<>();
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            this.events.add(Event.builder()
+                    .id(i)
+                    .name("event " + i)
+                    .description("test event")
+                    .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                    .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                    .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                    .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                    .location("강남역 D2 스타텁 팩토리")
+                    .basePrice(100)
+                    .maxPrice(200)
+                    .limitOfEnrollment(100)
+                    .eventStatus(EventStatus.DRAFT)
+                    .build());
+        }
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jackson2HalModule());
+        this.objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+    }
+
+    @Setup(Level.Invocation)
+    public void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown(Level.Invocation)
+    public void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public String linkTo_page() throws Exception {
+        List<EntityModel<Event>> resources = new ArrayList<>(PAGE_SIZE);
+        for (Event event : this.events) {
+            EntityModel<Event> resource = EntityModel.of(event);
+            resource.add(linkTo(EventController.class).slash(event.getId()).withSelfRel());
+            resources.add(resource);
+        }
+        CollectionModel<EntityModel<Event>> page = CollectionModel.of(resources);
+        page.add(linkTo(EventController.class).withRel("create-event"));
+        return this.objectMapper.writeValueAsString(page);
+    }
+
+    @Benchmark
+    public String linkFactory_page() throws Exception {
+        List<EventResource> resources = new ArrayList<>(PAGE_SIZE);
+        for (Event event : this.events) {
+            resources.add(new EventResource(event));
+        }
+        CollectionModel<EventResource> page = CollectionModel.of(resources);
+        page.add(EventLinks.current().events("create-event"));
+        return this.objectMapper.writeValueAsString(page);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LinkFactoryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import com.jayway.jsonpath.JsonPath;
+import me.daekun.demoinflearnrestapi.common.BaseControllerTest;
+import me.daekun.demoinflearnrestapi.common.TestDescription;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class ReactiveEventControllerTest extends BaseControllerTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+    }
+
+    @Test
+    @TestDescription("R2DBC 로 조회한 이벤트 하나가 서블릿 API 와 같은 HAL 응답인지 확인")
+    public void getEvent() throws Exception {
+        // Given
+        Event event = this.generateEvent(100);
+
+        // When
+        String servletBody = this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/reactive/events/{id}", event.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String reactiveBody = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("event 100"))
+                .andExpect(jsonPath("_links.self.href").value(endsWith("/api/events/" + event.getId())))
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertThat(this.objectMapper.readTree(reactiveBody)).isEqualTo(this.objectMapper.readTree(servletBody));
+    }
+
+    @Test
+    @TestDescription("없는 이벤트를 R2DBC 로 조회하면 404")
+    public void getEvent404() throws Exception {
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/reactive/events/11883"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @TestDescription("30개의 이벤트를 R2DBC 로 10개씩 두번째 페이지 조회하기")
+    public void queryEvents() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When
+        String servletBody = this.mockMvc.perform(get("/api/events?page=1&size=10&sort=name,DESC"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/reactive/events?page=1&size=10&sort=name,DESC"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String reactiveBody = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(30))
+                .andExpect(jsonPath("page.number").value(1))
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.prev").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertThat(this.objectMapper.readTree(reactiveBody).get("_embedded"))
+                .isEqualTo(this.objectMapper.readTree(servletBody).get("_embedded"));
+        assertThat(this.objectMapper.readTree(reactiveBody).get("page"))
+                .isEqualTo(this.objectMapper.readTree(servletBody).get("page"));
+        assertThat(JsonPath.<String>read(reactiveBody, "$._links.next.href")).contains("page=2");
+    }
+
+    private Event generateEvent(int i) {
+        Event event = Event.builder()
+                .name("event " + i)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2020, 11, 10, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2021, 11, 11, 11, 11))
+                .beginEventDateTime(LocalDateTime.of(2020, 11, 11, 11, 11))
+                .endEventDateTime(LocalDateTime.of(2022, 12, 11, 11, 11))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("D2")
+                .free(false)
+                .offline(true)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build();
+        return this.eventRepository.save(event);
+    }
+}
@@ -0,0 +1,132 @@
+package me.daekun.demoinflearnrestapi.events;
+
+import me.daekun.demoinflearnrestapi.DemoApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 같은 데이터를 서블릿(JPA) API 와 리액티브(R2DBC) API 로 읽을 때의 처리량 / 지연 비교.
+ * 애플리케이션을 인메모리 H2 로 띄우고 목록(20건 페이지)과 단건 조회를 각각 동시 클라이언트로 두드린다.
+ *
+ * 실행: mvn test-compile 후
+ *   java -cp ... me.daekun.demoinflearnrestapi.events.ReactiveReadLoadBenchmark [clients] [seconds]
+ * 대상마다 한 줄 JSON 으로 출력한다.
+ */
+public class ReactiveReadLoadBenchmark {
+
+    private static final int EVENTS = 500;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        try {
+            List<Integer> ids = seed(context.getBean(EventRepository.class));
+            String baseUri = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient httpClient = HttpClient.newHttpClient();
+
+            for (String target : new String[]{"/api/events", "/api/reactive/events"}) {
+                run(httpClient, clients, 3, () -> baseUri + target + "?page=0&size=20"); // 워밍업
+                print(target + "?page=0&size=20", clients, seconds,
+                        run(httpClient, clients, seconds, () -> baseUri + target + "?page=0&size=20"));
+                print(target + "/{id}", clients, seconds,
+                        run(httpClient, clients, seconds, () -> baseUri + target + "/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size()))));
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static List<Integer> seed(EventRepository eventRepository) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = Event.builder()
+                    .name("event " + i)
+                    .description("test event")
+                    .beginEnrollmentDateTime(LocalDateTime.of(2020, 11, 10, 14, 21))
+                    .closeEnrollmentDateTime(LocalDateTime.of(2021, 11, 11, 11, 11))
+                    .beginEventDateTime(LocalDateTime.of(2020, 11, 11, 11, 11))
+                    .endEventDateTime(LocalDateTime.of(2022, 12, 11, 11, 11))
+                    .basePrice(100)
+                    .maxPrice(200)
+                    .limitOfEnrollment(100)
+                    .location("D2")
+                    .eventStatus(EventStatus.PUBLISHED)
+                    .build();
+            event.update();
+            events.add(event);
+        }
+        List<Integer> ids = new ArrayList<>();
+        eventRepository.saveAll(events).forEach(e -> ids.add(e.getId()));
+        return ids;
+    }
+
+    private static List<Long> run(HttpClient httpClient, int clients, int seconds, Supplier<String> uri) throws InterruptedException {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger errors = new AtomicInteger();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService loadClients = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            loadClients.execute(() -> {
+                List<Long> local = new ArrayList<>();
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(uri.get())).GET().build();
+                        if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    local.add(System.nanoTime() - start);
+                }
+                latencies.addAll(local);
+            });
+        }
+        loadClients.shutdown();
+        loadClients.awaitTermination(seconds + 60, TimeUnit.SECONDS);
+        if (errors.get() > 0) {
+            System.err.println(errors.get() + " failed requests");
+        }
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private static void print(String target, int clients, int seconds, List<Long> sorted) {
+        System.out.printf("{\"target\":\"%s\",\"clients\":%d,\"seconds\":%d,\"requests\":%d,\"throughput\":%.1f," +
+                        "\"p50Ms\":%.1f,\"p99Ms\":%.1f}%n",
+                target, clients, seconds, sorted.size(), sorted.size() / (double) seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99));
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.floor(sorted.size() * p))) / 1_000_000.0;
+    }
+}